@@ -0,0 +1,76 @@
+package dev.latvian.mods.kubejs.benchmark;
+
+import com.google.gson.JsonElement;
+import dev.latvian.mods.kubejs.core.RecipeManagerKJS;
+import dev.latvian.mods.kubejs.recipe.RecipesKubeEvent;
+import dev.latvian.mods.kubejs.server.ServerScriptManager;
+import dev.latvian.mods.kubejs.util.JsonUtils;
+import dev.latvian.mods.rhino.Context;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared access to the running benchmark server and synthetic recipe maps built from its vanilla recipes.
+ */
+public final class BenchmarkEnvironment {
+	public static MinecraftServer server;
+	private static Map<ResourceLocation, JsonElement> vanillaRecipes;
+
+	private BenchmarkEnvironment() {
+	}
+
+	public static ServerScriptManager scriptManager() {
+		return server.getServerResources().managers().kjs$getServerScriptManager();
+	}
+
+	public static RecipeManagerKJS recipeManager() {
+		return (RecipeManagerKJS) server.getRecipeManager();
+	}
+
+	public static Context context() {
+		return scriptManager().contextFactory.enter();
+	}
+
+	public static RecipesKubeEvent createEvent() {
+		return new RecipesKubeEvent(scriptManager(), server.getResourceManager());
+	}
+
+	public static synchronized Map<ResourceLocation, JsonElement> vanillaRecipes() {
+		if (vanillaRecipes == null) {
+			var map = new HashMap<ResourceLocation, JsonElement>();
+			SimpleJsonResourceReloadListener.scanDirectory(server.getResourceManager(), Registries.elementsDirPath(Registries.RECIPE), JsonUtils.GSON, map);
+			vanillaRecipes = Map.copyOf(map);
+		}
+
+		return vanillaRecipes;
+	}
+
+	/**
+	 * Vanilla recipes repeated under suffixed ids until there are <code>size</code> of them
+	 */
+	public static Map<ResourceLocation, JsonElement> syntheticRecipes(int size) {
+		var vanilla = new ArrayList<>(vanillaRecipes().entrySet());
+		var map = new LinkedHashMap<ResourceLocation, JsonElement>(size);
+
+		for (int i = 0; i < size; i++) {
+			var entry = vanilla.get(i % vanilla.size());
+			var id = i < vanilla.size() ? entry.getKey() : entry.getKey().withSuffix("_" + (i / vanilla.size()));
+			map.put(id, entry.getValue().deepCopy());
+		}
+
+		return map;
+	}
+
+	public static RecipesKubeEvent discover(int size) {
+		var event = createEvent();
+		event.discoverRecipes(recipeManager(), syntheticRecipes(size));
+		return event;
+	}
+}
@@ -0,0 +1,45 @@
+package dev.latvian.mods.kubejs.benchmark;
+
+import dev.latvian.mods.kubejs.script.KubeJSContext;
+import dev.latvian.mods.kubejs.script.KubeJSContextFactory;
+import dev.latvian.mods.kubejs.script.ScriptManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of entering a new server script context, as done by console source line lookup and commands.
+ * <code>fullScope</code> also builds standard objects and all bindings for the context, like every context used to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ContextCreationBenchmark {
+	private ScriptManager manager;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		manager = BenchmarkEnvironment.scriptManager();
+	}
+
+	@Benchmark
+	public Object sharedScope() {
+		return manager.contextFactory.enter();
+	}
+
+	@Benchmark
+	public Object fullScope() {
+		return KubeJSContextFactory.createBindingScope((KubeJSContext) manager.contextFactory.enter());
+	}
+}
@@ -0,0 +1,50 @@
+package dev.latvian.mods.kubejs.benchmark;
+
+import dev.latvian.mods.kubejs.KubeJS;
+import net.neoforged.fml.common.Mod;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.server.ServerStartedEvent;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs JMH benchmarks on a started server when the <code>kubejs.benchmark</code> system property is set (see <code>benchmark</code> run in build.gradle), then stops the server.
+ */
+@Mod("kubejs_benchmarks")
+public class KubeJSBenchmarks {
+	public KubeJSBenchmarks() {
+		if (System.getProperty("kubejs.benchmark") != null) {
+			NeoForge.EVENT_BUS.addListener(this::serverStarted);
+		}
+	}
+
+	private void serverStarted(ServerStartedEvent event) {
+		BenchmarkEnvironment.server = event.getServer();
+
+		try {
+			var result = Path.of(System.getProperty("kubejs.benchmark.result", "jmh-result.json"));
+			Files.createDirectories(result.toAbsolutePath().getParent());
+
+			var options = new OptionsBuilder()
+				.include(System.getProperty("kubejs.benchmark"))
+				// benchmarks need the running server, so they can't be forked into another JVM
+				.forks(0)
+				// allocation rate per operation, see gc.alloc.rate.norm
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(result.toString())
+				.build();
+
+			new Runner(options).run();
+		} catch (Exception ex) {
+			KubeJS.LOGGER.error("Failed to run benchmarks", ex);
+		}
+
+		event.getServer().halt(false);
+	}
+}
@@ -0,0 +1,69 @@
+package dev.latvian.mods.kubejs.benchmark;
+
+import dev.latvian.mods.kubejs.level.LevelBlock;
+import dev.latvian.mods.kubejs.level.TickingLevelBlock;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a block entity tick handler that looks at all six neighbors of its block, per ticked block entity.
+ * Compare <code>gc.alloc.rate.norm</code> of both benchmarks for allocated bytes per tick.
+ * <p>
+ * Block states are not read, since the server thread (that owns chunk access) is blocked while benchmarks run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LevelBlockNeighborBenchmark {
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private net.minecraft.world.level.Level level;
+	private BlockPos pos;
+	private TickingLevelBlock tickingBlock;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		level = BenchmarkEnvironment.server.overworld();
+		pos = new BlockPos(12, 64, -7);
+		tickingBlock = new TickingLevelBlock(level, pos);
+	}
+
+	/**
+	 * New level block every tick, and a new block for each neighbor
+	 */
+	@Benchmark
+	public void allocating(Blackhole bh) {
+		LevelBlock block = level.kjs$getBlock(pos);
+
+		for (var dir : DIRECTIONS) {
+			bh.consume(block.offset(dir).getPos());
+		}
+	}
+
+	/**
+	 * Block kept by the block entity, neighbors reused
+	 */
+	@Benchmark
+	public void reused(Blackhole bh) {
+		var block = tickingBlock;
+
+		for (var dir : DIRECTIONS) {
+			bh.consume(block.offset(dir).getPos());
+		}
+	}
+}
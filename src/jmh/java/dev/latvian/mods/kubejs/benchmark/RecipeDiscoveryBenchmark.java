@@ -0,0 +1,61 @@
+package dev.latvian.mods.kubejs.benchmark;
+
+import com.google.gson.JsonElement;
+import dev.latvian.mods.kubejs.DevProperties;
+import dev.latvian.mods.kubejs.recipe.RecipesKubeEvent;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RecipeDiscoveryBenchmark {
+	@Param({"1000", "10000", "100000"})
+	public int size;
+
+	@Param({"true", "false"})
+	public boolean parallel;
+
+	private Map<ResourceLocation, JsonElement> recipes;
+	private RecipesKubeEvent event;
+	private boolean wasParallel;
+
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		recipes = BenchmarkEnvironment.syntheticRecipes(size);
+		wasParallel = DevProperties.get().parallelRecipeDiscovery;
+		DevProperties.get().parallelRecipeDiscovery = parallel;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDownTrial() {
+		DevProperties.get().parallelRecipeDiscovery = wasParallel;
+	}
+
+	@Setup(Level.Invocation)
+	public void setupInvocation() {
+		event = BenchmarkEnvironment.createEvent();
+	}
+
+	@Benchmark
+	public int discoverRecipes() {
+		event.discoverRecipes(BenchmarkEnvironment.recipeManager(), recipes);
+		return event.originalRecipes.size();
+	}
+}
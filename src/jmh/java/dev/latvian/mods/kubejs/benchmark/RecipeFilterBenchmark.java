@@ -0,0 +1,91 @@
+package dev.latvian.mods.kubejs.benchmark;
+
+import dev.latvian.mods.kubejs.recipe.RecipesKubeEvent;
+import dev.latvian.mods.kubejs.recipe.filter.AndFilter;
+import dev.latvian.mods.kubejs.recipe.filter.ConstantFilter;
+import dev.latvian.mods.kubejs.recipe.filter.GroupFilter;
+import dev.latvian.mods.kubejs.recipe.filter.IDFilter;
+import dev.latvian.mods.kubejs.recipe.filter.InputFilter;
+import dev.latvian.mods.kubejs.recipe.filter.ModFilter;
+import dev.latvian.mods.kubejs.recipe.filter.NotFilter;
+import dev.latvian.mods.kubejs.recipe.filter.OrFilter;
+import dev.latvian.mods.kubejs.recipe.filter.OutputFilter;
+import dev.latvian.mods.kubejs.recipe.filter.RecipeFilter;
+import dev.latvian.mods.kubejs.recipe.filter.RegexIDFilter;
+import dev.latvian.mods.kubejs.recipe.filter.TypeFilter;
+import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
+import dev.latvian.mods.rhino.Context;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RecipeFilterBenchmark {
+	@Param({"1000", "10000", "100000"})
+	public int size;
+
+	@Param({"true", "id", "regex", "mod", "type", "group", "input", "output", "and", "or", "not"})
+	public String filterType;
+
+	private RecipesKubeEvent event;
+	private Context cx;
+	private RecipeFilter filter;
+
+	static ReplacementMatchInfo match(ItemStack stack) {
+		return new ReplacementMatchInfo(stack, false, Optional.empty());
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		event = BenchmarkEnvironment.discover(size);
+		cx = BenchmarkEnvironment.context();
+		filter = switch (filterType) {
+			case "true" -> ConstantFilter.TRUE;
+			case "id" -> new IDFilter(ResourceLocation.withDefaultNamespace("oak_planks"));
+			case "regex" -> RegexIDFilter.of(Pattern.compile("^minecraft:.*_planks$"));
+			case "mod" -> new ModFilter("minecraft");
+			case "type" -> new TypeFilter(ResourceLocation.withDefaultNamespace("smelting"));
+			case "group" -> new GroupFilter("planks");
+			case "input" -> new InputFilter(match(new ItemStack(Items.STICK)));
+			case "output" -> new OutputFilter(match(new ItemStack(Items.OAK_PLANKS)));
+			case "and" -> {
+				var and = new AndFilter();
+				and.list.add(new TypeFilter(ResourceLocation.withDefaultNamespace("crafting_shaped")));
+				and.list.add(new InputFilter(match(new ItemStack(Items.STICK))));
+				yield and;
+			}
+			case "or" -> {
+				var or = new OrFilter();
+				or.list.add(new OutputFilter(match(new ItemStack(Items.IRON_INGOT))));
+				or.list.add(new OutputFilter(match(new ItemStack(Items.GOLD_INGOT))));
+				yield or;
+			}
+			case "not" -> new NotFilter(new TypeFilter(ResourceLocation.withDefaultNamespace("crafting_shaped")));
+			default -> throw new IllegalArgumentException("Unknown filter type " + filterType);
+		};
+	}
+
+	@Benchmark
+	public long recipeStream() {
+		return event.recipeStream(cx, filter).count();
+	}
+}
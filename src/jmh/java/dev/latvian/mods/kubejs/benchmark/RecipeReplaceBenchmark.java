@@ -0,0 +1,78 @@
+package dev.latvian.mods.kubejs.benchmark;
+
+import dev.latvian.mods.kubejs.recipe.RecipesKubeEvent;
+import dev.latvian.mods.kubejs.recipe.filter.ConstantFilter;
+import dev.latvian.mods.rhino.Context;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replacements and serialization modify recipes, so every invocation works on freshly discovered ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class RecipeReplaceBenchmark {
+	@Param({"1000", "10000", "100000"})
+	public int size;
+
+	private RecipesKubeEvent event;
+	private Context cx;
+
+	@Setup(Level.Invocation)
+	public void setup() {
+		event = BenchmarkEnvironment.discover(size);
+		cx = BenchmarkEnvironment.context();
+	}
+
+	@Benchmark
+	public RecipesKubeEvent replaceInput() {
+		event.replaceInput(cx, ConstantFilter.TRUE, RecipeFilterBenchmark.match(new ItemStack(Items.STICK)), new ItemStack(Items.BLAZE_ROD));
+		return event;
+	}
+
+	@Benchmark
+	public RecipesKubeEvent replaceOutput() {
+		event.replaceOutput(cx, ConstantFilter.TRUE, RecipeFilterBenchmark.match(new ItemStack(Items.OAK_PLANKS)), new ItemStack(Items.BIRCH_PLANKS));
+		return event;
+	}
+
+	@State(Scope.Benchmark)
+	public static class ChangedRecipes {
+		private RecipesKubeEvent event;
+
+		@Setup(Level.Invocation)
+		public void setup(RecipeReplaceBenchmark benchmark) {
+			event = BenchmarkEnvironment.discover(benchmark.size);
+			event.replaceInput(BenchmarkEnvironment.context(), ConstantFilter.TRUE, RecipeFilterBenchmark.match(new ItemStack(Items.STICK)), new ItemStack(Items.BLAZE_ROD));
+		}
+	}
+
+	@Benchmark
+	public int serializeChanges(ChangedRecipes changed) {
+		int count = 0;
+
+		for (var r : changed.event.originalRecipes.values()) {
+			if (r.serializeChanges().hasChanged()) {
+				count++;
+			}
+		}
+
+		return count;
+	}
+}
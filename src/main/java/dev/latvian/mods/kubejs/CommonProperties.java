@@ -33,6 +33,14 @@ public class CommonProperties extends BaseProperties {
 	public boolean allowAsyncStreams;
 	public boolean matchJsonRecipes;
 	public boolean ignoreCustomUniqueRecipeIds;
+	public boolean cacheRecipes;
+	public double eventHandlerBudgetMs;
+	public double eventTickBudgetMs;
+	public boolean throttleSlowEventHandlers;
+	public int slowEventHandlerStrikes;
+	public int slowEventHandlerSkipTicks;
+	public int blockEntityFlushInterval;
+	public int blockEntityMaxFlushesPerTick;
 	public boolean startupErrorGUI;
 	public String startupErrorReportUrl;
 	public boolean removeSlotLimit;
@@ -54,6 +62,14 @@ public class CommonProperties extends BaseProperties {
 		allowAsyncStreams = get("allow_async_streams", true);
 		matchJsonRecipes = get("match_json_recipes", true);
 		ignoreCustomUniqueRecipeIds = get("ignore_custom_unique_recipe_ids", false);
+		cacheRecipes = get("cache_recipes", false);
+		eventHandlerBudgetMs = get("event_handler_budget_ms", 0D);
+		eventTickBudgetMs = get("event_tick_budget_ms", 0D);
+		throttleSlowEventHandlers = get("throttle_slow_event_handlers", false);
+		slowEventHandlerStrikes = get("slow_event_handler_strikes", 3);
+		slowEventHandlerSkipTicks = get("slow_event_handler_skip_ticks", 100);
+		blockEntityFlushInterval = Math.max(1, get("block_entity_flush_interval", 20));
+		blockEntityMaxFlushesPerTick = get("block_entity_max_flushes_per_tick", 0);
 		startupErrorGUI = get("startup_error_gui", true);
 		startupErrorReportUrl = get("startup_error_report_url", "");
 		removeSlotLimit = get("remove_slot_limit", false);
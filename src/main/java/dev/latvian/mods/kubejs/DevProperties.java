@@ -34,6 +34,20 @@ public class DevProperties extends BaseProperties {
 	public boolean strictTags;
 	public boolean alwaysCaptureErrors;
 	public boolean reloadOnFileSave;
+	public boolean incrementalScriptReload;
+	public int fileWatcherDebounceMs;
+	public boolean parallelRecipeDiscovery;
+	public boolean profileRecipes;
+	public boolean earlyTagLookups;
+	public int parseCacheSize;
+	public boolean parallelScriptReading;
+	public boolean cacheCompiledScripts;
+	public boolean parallelAssetGeneration;
+	public boolean cacheGeneratedTextures;
+	public int logQueueSize;
+	public int logBatchSize;
+	public int logFlushIntervalMs;
+	public boolean logQueueDropWhenFull;
 	public String kubedexSound;
 
 	private DevProperties() {
@@ -61,6 +75,20 @@ public class DevProperties extends BaseProperties {
 		strictTags = get("strict_tags", false);
 		alwaysCaptureErrors = get("always_capture_errors", false);
 		reloadOnFileSave = get("reload_on_file_save", false);
+		incrementalScriptReload = get("incremental_script_reload", false);
+		fileWatcherDebounceMs = get("file_watcher_debounce_ms", 300);
+		parallelRecipeDiscovery = get("parallel_recipe_discovery", true);
+		profileRecipes = get("profile_recipes", false);
+		earlyTagLookups = get("early_tag_lookups", false);
+		parseCacheSize = get("parse_cache_size", 4096);
+		parallelScriptReading = get("parallel_script_reading", true);
+		cacheCompiledScripts = get("cache_compiled_scripts", true);
+		parallelAssetGeneration = get("parallel_asset_generation", false);
+		cacheGeneratedTextures = get("cache_generated_textures", true);
+		logQueueSize = get("log_queue_size", 16384);
+		logBatchSize = get("log_batch_size", 512);
+		logFlushIntervalMs = get("log_flush_interval_ms", 1000);
+		logQueueDropWhenFull = get("log_queue_drop_when_full", false);
 		kubedexSound = get("kubedex_sound", "entity.experience_orb.pickup");
 	}
 }
\ No newline at end of file
@@ -168,6 +168,16 @@ public class BasicBlockJS extends Block implements SimpleWaterloggedBlock {
 		return state;
 	}
 
+	@Override
+	@Deprecated
+	public void neighborChanged(BlockState state, Level level, BlockPos pos, Block neighborBlock, BlockPos neighborPos, boolean movedByPiston) {
+		super.neighborChanged(state, level, pos, neighborBlock, neighborPos, movedByPiston);
+
+		if (blockBuilder.blockEntityInfo != null && level.getBlockEntity(pos) instanceof KubeBlockEntity entity) {
+			entity.wakeUp();
+		}
+	}
+
 	@Override
 	public boolean propagatesSkylightDown(BlockState state, BlockGetter level, BlockPos pos) {
 		return blockBuilder.transparent || !(state.getOptionalValue(BlockStateProperties.WATERLOGGED).orElse(false));
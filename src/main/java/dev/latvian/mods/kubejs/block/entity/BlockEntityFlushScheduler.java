@@ -0,0 +1,146 @@
+package dev.latvian.mods.kubejs.block.entity;
+
+import dev.latvian.mods.kubejs.CommonProperties;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * Flushes {@link KubeBlockEntity#save()} and {@link KubeBlockEntity#sync()} of a level.
+ * <p>
+ * Dirty block entities are spread over <code>block_entity_flush_interval</code> ticks by their position, so they don't all flush on the same tick,
+ * and at most <code>block_entity_max_flushes_per_tick</code> are flushed each tick (0 = no limit), the rest wait for the next tick.
+ * Each block entity is flushed at most once per interval, and each chunk is marked unsaved at most once per tick.
+ * Block entities that don't tick skip the scheduler, and pending changes are flushed when the level is saved or the chunk is unloaded.
+ */
+public class BlockEntityFlushScheduler {
+	static final int SAVE = 1;
+	static final int SYNC = 2;
+
+	public static int phase(BlockPos pos, int interval) {
+		return interval <= 1 ? 0 : (int) Math.floorMod(HashCommon.mix(pos.asLong()), (long) interval);
+	}
+
+	private final ServerLevel level;
+	private final ArrayList<KubeBlockEntity>[] buckets;
+	private final ArrayDeque<KubeBlockEntity> due;
+	private final LongOpenHashSet changedChunks;
+	public long flushed;
+
+	@SuppressWarnings("unchecked")
+	public BlockEntityFlushScheduler(ServerLevel level) {
+		this.level = level;
+		this.buckets = new ArrayList[CommonProperties.get().blockEntityFlushInterval];
+
+		for (int i = 0; i < buckets.length; i++) {
+			buckets[i] = new ArrayList<>();
+		}
+
+		this.due = new ArrayDeque<>();
+		this.changedChunks = new LongOpenHashSet();
+	}
+
+	void markDirty(KubeBlockEntity entity, int flags) {
+		int prev = entity.flushFlags;
+		entity.flushFlags = prev | flags;
+
+		if (prev == 0) {
+			buckets[phase(entity.getBlockPos(), buckets.length)].add(entity);
+		}
+	}
+
+	public int getPendingCount() {
+		int count = due.size();
+
+		for (var bucket : buckets) {
+			count += bucket.size();
+		}
+
+		return count;
+	}
+
+	public void tick() {
+		var bucket = buckets[(int) Math.floorMod(level.getGameTime(), (long) buckets.length)];
+
+		if (!bucket.isEmpty()) {
+			due.addAll(bucket);
+			bucket.clear();
+		}
+
+		if (due.isEmpty()) {
+			return;
+		}
+
+		int max = CommonProperties.get().blockEntityMaxFlushesPerTick;
+
+		for (int i = 0; (max <= 0 || i < max) && !due.isEmpty(); i++) {
+			flush(due.poll());
+		}
+
+		changedChunks.clear();
+	}
+
+	/**
+	 * Flushes every pending block entity right away, so the level can be saved without losing changes
+	 */
+	public void flushAll() {
+		for (var bucket : buckets) {
+			due.addAll(bucket);
+			bucket.clear();
+		}
+
+		while (!due.isEmpty()) {
+			flush(due.poll());
+		}
+
+		changedChunks.clear();
+	}
+
+	/**
+	 * Flushes block entities of a chunk that is about to be unloaded, before the chunk is saved.
+	 * They stay in their buckets, but are skipped there since they have nothing left to flush
+	 */
+	public void flushChunk(LevelChunk chunk) {
+		boolean changed = false;
+
+		for (var blockEntity : chunk.getBlockEntities().values()) {
+			if (blockEntity instanceof KubeBlockEntity entity && entity.flushFlags != 0) {
+				// nobody is watching an unloading chunk, so only the save matters
+				entity.flushFlags = 0;
+				flushed++;
+				changed = true;
+			}
+		}
+
+		if (changed) {
+			chunk.setUnsaved(true);
+		}
+	}
+
+	private void flush(KubeBlockEntity entity) {
+		int flags = entity.flushFlags;
+		entity.flushFlags = 0;
+
+		if (flags == 0 || entity.isRemoved() || entity.getLevel() != level) {
+			return;
+		}
+
+		var pos = entity.getBlockPos();
+		flushed++;
+
+		if ((flags & SYNC) != 0) {
+			// block state doesn't change, so only the chunk holder needs to know, it batches changes of a chunk section into one packet
+			level.getChunkSource().blockChanged(pos);
+		}
+
+		if (changedChunks.add(ChunkPos.asLong(pos))) {
+			level.blockEntityChanged(pos);
+		}
+	}
+}
@@ -117,7 +117,8 @@ public class BlockEntityInfo implements BlockEntityAttachmentHandler {
 		if (level.isClientSide()) {
 			return clientTicking ? (BlockEntityTicker) KubeBlockEntity.TICKER : null;
 		} else {
-			return serverTicking || attachmentsTicking ? (BlockEntityTicker) KubeBlockEntity.TICKER : null;
+			// script tick handlers are ticked by BlockEntityTickScheduler
+			return attachmentsTicking ? (BlockEntityTicker) KubeBlockEntity.TICKER : null;
 		}
 	}
 
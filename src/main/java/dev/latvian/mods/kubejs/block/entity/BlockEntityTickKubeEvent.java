@@ -27,4 +27,11 @@ public class BlockEntityTickKubeEvent implements KubeLevelEvent {
 	public int getCycle() {
 		return entity.cycle;
 	}
+
+	/**
+	 * Stops this event from being posted for the block entity until it is woken up
+	 */
+	public void sleep() {
+		entity.sleep();
+	}
 }
@@ -0,0 +1,121 @@
+package dev.latvian.mods.kubejs.block.entity;
+
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.world.level.Level;
+
+import java.util.Arrays;
+
+/**
+ * Ticks script tick handlers of all loaded {@link KubeBlockEntity}s of one {@link BlockEntityInfo} in a level.
+ * <p>
+ * Block entities are kept in <code>tickFrequency</code> buckets by the game tick they are due on, so each tick only visits one bucket
+ * instead of every block entity checking its own tick. Sleeping block entities are not in any bucket until they are woken up.
+ */
+public class BlockEntityTickScheduler {
+	public static BlockEntityTickScheduler get(Level level, BlockEntityInfo info) {
+		var map = level.kjs$getBlockEntityTickSchedulers();
+		var scheduler = map.get(info);
+
+		if (scheduler == null) {
+			scheduler = new BlockEntityTickScheduler(level, info);
+			map.put(info, scheduler);
+		}
+
+		return scheduler;
+	}
+
+	public static void tickAll(Level level) {
+		var map = level.kjs$getBlockEntityTickSchedulers();
+
+		if (!map.isEmpty() && level.tickRateManager().runsNormally()) {
+			long gameTime = level.getGameTime();
+
+			for (var scheduler : map.values()) {
+				scheduler.tick(gameTime);
+			}
+		}
+	}
+
+	private final Level level;
+	public final BlockEntityInfo info;
+	private final int frequency;
+	private final ReferenceLinkedOpenHashSet<KubeBlockEntity>[] buckets;
+	private KubeBlockEntity[] due;
+	private int size;
+
+	@SuppressWarnings("unchecked")
+	private BlockEntityTickScheduler(Level level, BlockEntityInfo info) {
+		this.level = level;
+		this.info = info;
+		this.frequency = Math.max(1, info.tickFrequency);
+		this.buckets = new ReferenceLinkedOpenHashSet[frequency];
+
+		for (int i = 0; i < frequency; i++) {
+			buckets[i] = new ReferenceLinkedOpenHashSet<>();
+		}
+
+		this.due = new KubeBlockEntity[16];
+		this.size = 0;
+	}
+
+	/**
+	 * Puts the block entity in the bucket of the next game tick its tick counter lines up with the tick offset
+	 */
+	void add(KubeBlockEntity entity) {
+		remove(entity);
+
+		int delay = Math.floorMod(info.tickOffset - entity.tick, frequency);
+		entity.tick += delay;
+		entity.tickBucket = (int) Math.floorMod(level.getGameTime() + delay, (long) frequency);
+		entity.tickScheduler = this;
+		buckets[entity.tickBucket].add(entity);
+		size++;
+	}
+
+	void remove(KubeBlockEntity entity) {
+		if (entity.tickScheduler == this) {
+			buckets[entity.tickBucket].remove(entity);
+			entity.tickScheduler = null;
+			size--;
+		}
+	}
+
+	private void tick(long gameTime) {
+		int b = (int) Math.floorMod(gameTime, (long) frequency);
+		var bucket = buckets[b];
+		int count = bucket.size();
+
+		if (count == 0) {
+			return;
+		}
+
+		// handlers may add, remove or put to sleep any block entity while ticking
+		if (due.length < count) {
+			due = new KubeBlockEntity[Math.max(count, due.length * 2)];
+		}
+
+		bucket.toArray(due);
+
+		for (int i = 0; i < count; i++) {
+			var entity = due[i];
+
+			if (entity.tickScheduler == this && entity.tickBucket == b && !entity.isRemoved() && level.shouldTickBlocksAt(entity.getBlockPos())) {
+				entity.postTick(frequency);
+			}
+		}
+
+		Arrays.fill(due, 0, count, null);
+	}
+
+	/**
+	 * @return number of awake block entities
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		return "BlockEntityTickScheduler[" + info.blockBuilder.id + ", " + size + "]";
+	}
+}
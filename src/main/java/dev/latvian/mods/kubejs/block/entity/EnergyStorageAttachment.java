@@ -53,7 +53,7 @@ public class EnergyStorageAttachment implements BlockEntityAttachment {
 
 			if (!simulate && i > 0) {
 				energy += i;
-				attachment.entity.save();
+				attachment.entity.attachmentChanged();
 			}
 
 			return i;
@@ -64,7 +64,7 @@ public class EnergyStorageAttachment implements BlockEntityAttachment {
 
 			if (!simulate && i > 0) {
 				energy -= i;
-				attachment.entity.save();
+				attachment.entity.attachmentChanged();
 			}
 
 			return i;
@@ -74,7 +74,7 @@ public class EnergyStorageAttachment implements BlockEntityAttachment {
 			if (energy >= use) {
 				if (!simulate) {
 					energy -= use;
-					attachment.entity.save();
+					attachment.entity.attachmentChanged();
 				}
 
 				return true;
@@ -88,7 +88,7 @@ public class EnergyStorageAttachment implements BlockEntityAttachment {
 			int s = super.extractEnergy(toExtract, simulate);
 
 			if (s > 0 && !simulate && !attachment.entity.getLevel().isClientSide()) {
-				attachment.entity.save();
+				attachment.entity.attachmentChanged();
 			}
 
 			return s;
@@ -99,7 +99,7 @@ public class EnergyStorageAttachment implements BlockEntityAttachment {
 			int s = super.receiveEnergy(toReceive, simulate);
 
 			if (s > 0 && !simulate && !attachment.entity.getLevel().isClientSide()) {
-				attachment.entity.save();
+				attachment.entity.attachmentChanged();
 			}
 
 			return s;
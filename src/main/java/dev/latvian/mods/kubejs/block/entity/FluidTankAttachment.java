@@ -40,7 +40,7 @@ public class FluidTankAttachment implements BlockEntityAttachment {
 
 		@Override
 		protected void onContentsChanged() {
-			attachment.entity.save();
+			attachment.entity.attachmentChanged();
 		}
 	}
 
@@ -48,7 +48,7 @@ public class InventoryAttachment implements BlockEntityAttachment {
 
 		@Override
 		protected void onContentsChanged(int slot) {
-			attachment.blockEntity.save();
+			attachment.blockEntity.attachmentChanged();
 		}
 
 		@Override
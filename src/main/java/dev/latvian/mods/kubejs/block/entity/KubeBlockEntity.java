@@ -2,6 +2,7 @@ package dev.latvian.mods.kubejs.block.entity;
 
 import dev.latvian.mods.kubejs.bindings.event.BlockEvents;
 import dev.latvian.mods.kubejs.level.LevelBlock;
+import dev.latvian.mods.kubejs.level.TickingLevelBlock;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
@@ -9,6 +10,7 @@ import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
@@ -26,7 +28,7 @@ public class KubeBlockEntity extends BlockEntity {
 
 	public final BlockEntityInfo info;
 	public final ResourceKey<Block> blockKey;
-	protected LevelBlock block;
+	protected TickingLevelBlock block;
 	public final int x, y, z;
 	public int tick, cycle;
 	public CompoundTag data;
@@ -34,8 +36,12 @@ public class KubeBlockEntity extends BlockEntity {
 	public final transient BlockEntityAttachmentHolder[] attachmentArray;
 	public UUID placerId;
 	private BlockEntityTickKubeEvent tickEvent;
-	private boolean save;
-	private boolean sync;
+	// see BlockEntityFlushScheduler, only used on client side without it
+	int flushFlags;
+	// see BlockEntityTickScheduler
+	BlockEntityTickScheduler tickScheduler;
+	int tickBucket;
+	private boolean sleeping;
 
 	public KubeBlockEntity(BlockPos blockPos, BlockState blockState, BlockEntityInfo entityInfo) {
 		super(entityInfo.entityType, blockPos, blockState);
@@ -65,10 +71,38 @@ public class KubeBlockEntity extends BlockEntity {
 
 	@Override
 	public void setLevel(Level level) {
+		if (tickScheduler != null) {
+			tickScheduler.remove(this);
+		}
+
 		super.setLevel(level);
 		block = null;
 	}
 
+	@Override
+	public void setBlockState(BlockState state) {
+		super.setBlockState(state);
+
+		if (block != null) {
+			block.cache(state);
+		}
+	}
+
+	@Override
+	public void onLoad() {
+		super.onLoad();
+		scheduleTicking();
+	}
+
+	@Override
+	public void setRemoved() {
+		super.setRemoved();
+
+		if (tickScheduler != null) {
+			tickScheduler.remove(this);
+		}
+	}
+
 	@Override
 	protected void saveAdditional(CompoundTag tag, HolderLookup.Provider registries) {
 		super.saveAdditional(tag, registries);
@@ -86,6 +120,10 @@ public class KubeBlockEntity extends BlockEntity {
 			tag.putUUID("placer", placerId);
 		}
 
+		if (sleeping) {
+			tag.putBoolean("sleeping", true);
+		}
+
 		if (attachmentArray.length > 0) {
 			var data = new CompoundTag();
 
@@ -108,6 +146,14 @@ public class KubeBlockEntity extends BlockEntity {
 		tick = tag.getInt("tick");
 		cycle = tag.getInt("cycle");
 		placerId = tag.contains("placer") ? tag.getUUID("placer") : null;
+		boolean wasSleeping = sleeping;
+		sleeping = tag.getBoolean("sleeping");
+
+		if (sleeping && tickScheduler != null) {
+			tickScheduler.remove(this);
+		} else if (wasSleeping && !sleeping) {
+			scheduleTicking();
+		}
 
 		if (attachmentArray.length > 0) {
 			var data = tag.getCompound("attachments");
@@ -143,24 +189,39 @@ public class KubeBlockEntity extends BlockEntity {
 		return ClientboundBlockEntityDataPacket.create(this);
 	}
 
+	/**
+	 * Only block entities that tick batch their changes, others usually change once in a while and are flushed right away
+	 */
+	private boolean batchesChanges() {
+		return level instanceof ServerLevel ? info.serverTicking || info.attachmentsTicking : info.getTicker(level) != null;
+	}
+
 	public void save() {
-		if (level != null) {
-			if (info.getTicker(level) != null) {
-				save = true;
-			} else {
-				level.blockEntityChanged(worldPosition);
-			}
+		if (level == null) {
+			return;
+		}
+
+		if (!batchesChanges()) {
+			level.blockEntityChanged(worldPosition);
+		} else if (level instanceof ServerLevel serverLevel) {
+			serverLevel.kjs$getBlockEntityFlushScheduler().markDirty(this, BlockEntityFlushScheduler.SAVE);
+		} else {
+			flushFlags |= BlockEntityFlushScheduler.SAVE;
 		}
 	}
 
 	public void sync() {
-		if (level != null) {
-			if (info.getTicker(level) != null) {
-				sync = true;
-			} else {
-				save();
-				level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 11);
-			}
+		if (level == null) {
+			return;
+		}
+
+		if (!batchesChanges()) {
+			level.blockEntityChanged(worldPosition);
+			level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 11);
+		} else if (level instanceof ServerLevel serverLevel) {
+			serverLevel.kjs$getBlockEntityFlushScheduler().markDirty(this, BlockEntityFlushScheduler.SYNC);
+		} else {
+			flushFlags |= BlockEntityFlushScheduler.SYNC;
 		}
 	}
 
@@ -170,6 +231,8 @@ public class KubeBlockEntity extends BlockEntity {
 
 	@Override
 	public boolean triggerEvent(int eventId, int data) {
+		wakeUp();
+
 		if (info.eventHandlers != null) {
 			var e = info.eventHandlers.get(eventId);
 
@@ -184,35 +247,75 @@ public class KubeBlockEntity extends BlockEntity {
 
 	public LevelBlock getBlock() {
 		if (block == null) {
-			this.block = level.kjs$getBlock(worldPosition).cache(this).cache(getBlockState());
+			block = new TickingLevelBlock(level, worldPosition);
+			block.cache(this);
+			block.cache(getBlockState());
 		}
 
 		return block;
 	}
 
-	private void tick() {
-		if (level == null) {
-			return;
+	private void scheduleTicking() {
+		if (level != null && !sleeping && !isRemoved() && (level.isClientSide ? info.clientTicking : info.serverTicking)) {
+			BlockEntityTickScheduler.get(level, info).add(this);
 		}
+	}
 
-		if (level.isClientSide ? info.clientTicking : info.serverTicking) {
-			if (tick % info.tickFrequency == info.tickOffset) {
-				var side = level.kjs$getScriptType();
+	/**
+	 * Stops tick event until this block entity is woken up by {@link #wakeUp()}, an event, a neighbor update or a change in its attachments
+	 */
+	public void sleep() {
+		if (!sleeping) {
+			sleeping = true;
 
-				try {
-					if (tickEvent == null) {
-						tickEvent = new BlockEntityTickKubeEvent(this);
-					}
+			if (tickScheduler != null) {
+				tickScheduler.remove(this);
+			}
 
-					BlockEvents.BLOCK_ENTITY_TICK.post(side, blockKey, tickEvent);
-				} catch (Exception ex) {
-					side.console.error("Error while ticking KubeJS block entity '" + info.blockBuilder.id + "'", ex);
-				}
+			save();
+		}
+	}
 
-				cycle++;
+	public void wakeUp() {
+		if (sleeping) {
+			sleeping = false;
+			scheduleTicking();
+			save();
+		}
+	}
+
+	public boolean isSleeping() {
+		return sleeping;
+	}
+
+	/**
+	 * Called by attachments when their contents change
+	 */
+	public void attachmentChanged() {
+		save();
+		wakeUp();
+	}
+
+	void postTick(int frequency) {
+		var side = level.kjs$getScriptType();
+
+		try {
+			if (tickEvent == null) {
+				tickEvent = new BlockEntityTickKubeEvent(this);
 			}
 
-			tick++;
+			BlockEvents.BLOCK_ENTITY_TICK.post(side, blockKey, tickEvent);
+		} catch (Exception ex) {
+			side.console.error("Error while ticking KubeJS block entity '" + info.blockBuilder.id + "'", ex);
+		}
+
+		cycle++;
+		tick += frequency;
+	}
+
+	private void tick() {
+		if (level == null) {
+			return;
 		}
 
 		if (!level.isClientSide && info.attachmentsTicking) {
@@ -221,17 +324,13 @@ public class KubeBlockEntity extends BlockEntity {
 			}
 		}
 
-		if ((sync || save) && level.getGameTime() % 20L == 0L) {
-			if (sync) {
+		if (flushFlags != 0 && level.isClientSide && (level.getGameTime() + BlockEntityFlushScheduler.phase(worldPosition, 20)) % 20L == 0L) {
+			if ((flushFlags & BlockEntityFlushScheduler.SYNC) != 0) {
 				level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 11);
-				save = true;
-				sync = false;
 			}
 
-			if (save) {
-				level.blockEntityChanged(worldPosition);
-				save = false;
-			}
+			level.blockEntityChanged(worldPosition);
+			flushFlags = 0;
 		}
 	}
 
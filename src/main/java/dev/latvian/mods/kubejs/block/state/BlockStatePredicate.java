@@ -54,6 +54,10 @@ public sealed interface BlockStatePredicate extends Predicate<BlockState>, Repla
 	}
 
 	static BlockStatePredicate fromString(RegistryAccessContainer registries, String s) {
+		return registries.blockStatePredicateParseCache().get(s, s1 -> parse(registries, s1));
+	}
+
+	private static BlockStatePredicate parse(RegistryAccessContainer registries, String s) {
 		if (s.equals("*")) {
 			return Simple.ALL;
 		} else if (s.equals("-")) {
@@ -0,0 +1,101 @@
+package dev.latvian.mods.kubejs.client;
+
+import com.mojang.datafixers.util.Pair;
+import dev.latvian.mods.kubejs.generator.KubeAssetGenerator;
+import dev.latvian.mods.kubejs.registry.BuilderBase;
+import dev.latvian.mods.kubejs.script.data.GeneratedData;
+import dev.latvian.mods.kubejs.script.data.VirtualAssetPack;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Generates assets of a slice of builders on a worker thread. Generated files and sounds are kept until {@link #flush()} adds them to the pack,
+ * which is done in builder order, so when two builders generate the same file, the later one wins like it does when generating one after another.
+ * <p>
+ * Unlike sequential generation, {@link #getGenerated(ResourceLocation)} only sees files of earlier builders in the same partition
+ * and files that were in the pack before builder assets were generated, not ones from builders of other partitions.
+ * Builders that look at files of other builders, e.g. texture metadata, should not rely on that with <code>parallel_asset_generation</code>.
+ */
+class AssetGeneratorPartition implements KubeAssetGenerator, Runnable {
+	private final VirtualAssetPack pack;
+	private final List<BuilderBase<?>> builders;
+	private final Map<ResourceLocation, GeneratedData> generated;
+	private final List<Pair<String, Consumer<SoundsGenerator>>> sounds;
+
+	AssetGeneratorPartition(VirtualAssetPack pack, List<BuilderBase<?>> builders) {
+		this.pack = pack;
+		this.builders = builders;
+		this.generated = new LinkedHashMap<>();
+		this.sounds = new ArrayList<>();
+	}
+
+	@Override
+	public void run() {
+		for (var builder : builders) {
+			builder.generateAssets(this);
+		}
+	}
+
+	void flush() {
+		for (var data : generated.values()) {
+			pack.add(data);
+		}
+
+		generated.clear();
+
+		for (var entry : sounds) {
+			pack.sounds(entry.getFirst(), entry.getSecond());
+		}
+
+		sounds.clear();
+	}
+
+	@Override
+	public void add(GeneratedData data) {
+		generated.put(data.id(), data);
+	}
+
+	@Override
+	@Nullable
+	public GeneratedData getGenerated(ResourceLocation id) {
+		var data = generated.get(id);
+		return data == null ? pack.getGenerated(id) : data;
+	}
+
+	@Override
+	public LoadedTexture loadTexture(ResourceLocation id) {
+		return pack.loadTexture(id);
+	}
+
+	@Override
+	public void texture(ResourceLocation target, LoadedTexture texture) {
+		KubeAssetGenerator.super.texture(target, texture);
+
+		if (texture.width > 0 && texture.height > 0) {
+			pack.cacheTexture(target, () -> texture);
+		}
+	}
+
+	@Override
+	public void texture(ResourceLocation target, Supplier<LoadedTexture> texture, boolean animated) {
+		KubeAssetGenerator.super.texture(target, texture, animated);
+		pack.cacheTexture(target, texture);
+	}
+
+	@Override
+	public Supplier<LoadedTexture> lazyTexture(TextureKey key, Supplier<LoadedTexture> factory) {
+		return pack.lazyTexture(key, factory);
+	}
+
+	@Override
+	public void sounds(String namespace, Consumer<SoundsGenerator> consumer) {
+		sounds.add(Pair.of(namespace, consumer));
+	}
+}
@@ -1,6 +1,7 @@
 package dev.latvian.mods.kubejs.client;
 
 import com.google.gson.JsonObject;
+import dev.latvian.mods.kubejs.DevProperties;
 import dev.latvian.mods.kubejs.KubeJS;
 import dev.latvian.mods.kubejs.KubeJSPaths;
 import dev.latvian.mods.kubejs.bindings.event.ClientEvents;
@@ -13,9 +14,11 @@ import dev.latvian.mods.kubejs.script.data.GeneratedDataStage;
 import dev.latvian.mods.kubejs.script.data.KubeFileResourcePack;
 import dev.latvian.mods.kubejs.script.data.VirtualAssetPack;
 import dev.latvian.mods.kubejs.util.JsonUtils;
+import net.minecraft.Util;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.PackResources;
 import net.minecraft.server.packs.PackType;
+import net.minecraft.util.Mth;
 import net.neoforged.fml.loading.FMLLoader;
 
 import java.nio.file.Files;
@@ -23,10 +26,12 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class ClientAssetPacks {
 	public static final ClientAssetPacks INSTANCE = new ClientAssetPacks();
+	private static final int MIN_BUILDERS_PER_PARTITION = 64;
 
 	public final VirtualAssetPack internalAssetPack;
 	public final Map<GeneratedDataStage, VirtualAssetPack> virtualPacks;
@@ -62,11 +67,10 @@ public class ClientAssetPacks {
 		packs.addAll(afterModsIndex + 2, filePacks);
 		packs.add(virtualPacks.get(GeneratedDataStage.LAST));
 
+		GeneratedTextureCache.INSTANCE.prune();
 		internalAssetPack.reset();
 
-		for (var builder : RegistryObjectStorage.ALL_BUILDERS) {
-			builder.generateAssets(internalAssetPack);
-		}
+		generateBuilderAssets();
 
 		KubeJSPlugins.forEachPlugin(internalAssetPack, KubeJSPlugin::generateAssets);
 
@@ -151,4 +155,37 @@ public class ClientAssetPacks {
 
 		return packs;
 	}
+
+	/**
+	 * Builder callbacks may call script functions, so builders are only split between worker threads with <code>parallel_asset_generation</code> dev property
+	 */
+	private void generateBuilderAssets() {
+		var builders = List.copyOf(RegistryObjectStorage.ALL_BUILDERS);
+		int partitions = DevProperties.get().parallelAssetGeneration ? Math.min(Runtime.getRuntime().availableProcessors(), builders.size() / MIN_BUILDERS_PER_PARTITION) : 1;
+
+		if (partitions <= 1) {
+			for (var builder : builders) {
+				builder.generateAssets(internalAssetPack);
+			}
+
+			return;
+		}
+
+		var generators = new AssetGeneratorPartition[partitions];
+		var futures = new CompletableFuture<?>[partitions];
+		int size = Mth.positiveCeilDiv(builders.size(), partitions);
+
+		for (int i = 0; i < partitions; i++) {
+			int from = Math.min(builders.size(), i * size);
+			int to = Math.min(builders.size(), from + size);
+			generators[i] = new AssetGeneratorPartition(internalAssetPack, builders.subList(from, to));
+			futures[i] = CompletableFuture.runAsync(generators[i], Util.backgroundExecutor());
+		}
+
+		CompletableFuture.allOf(futures).join();
+
+		for (var generator : generators) {
+			generator.flush();
+		}
+	}
 }
@@ -0,0 +1,126 @@
+package dev.latvian.mods.kubejs.client;
+
+import dev.latvian.mods.kubejs.DevProperties;
+import dev.latvian.mods.kubejs.KubeJS;
+import dev.latvian.mods.kubejs.KubeJSPaths;
+import dev.latvian.mods.kubejs.generator.KubeAssetGenerator;
+import dev.latvian.mods.kubejs.script.ConsoleJS;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encoded .png results of texture operations, kept in <code>local/kubejs/cache/textures</code> between launches.
+ * <p>
+ * The key covers KubeJS version, the operation with its parameters and size and last modified time of the source texture,
+ * so editing the source texture or the script that generates it simply creates a new entry. Entries that weren't used during a reload are deleted on the next one.
+ */
+public class GeneratedTextureCache {
+	public static final GeneratedTextureCache INSTANCE = new GeneratedTextureCache();
+	public static final Path DIRECTORY = KubeJSPaths.CACHE.resolve("textures");
+
+	private final Set<String> used;
+
+	private GeneratedTextureCache() {
+		this.used = ConcurrentHashMap.newKeySet();
+	}
+
+	/**
+	 * @return key of the operation, or null if its input isn't a source file and can't be cached
+	 */
+	@Nullable
+	public static String key(KubeAssetGenerator.TextureKey key) {
+		if (!DevProperties.get().cacheGeneratedTextures) {
+			return null;
+		}
+
+		var path = LoadedTexture.findPath(key.input());
+
+		if (path == null) {
+			return null;
+		}
+
+		try {
+			var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+			var digest = MessageDigest.getInstance("SHA-256");
+			digest.update((KubeJS.VERSION + '\n' + key.operation() + '\n' + key.input() + '\n' + key.parameters() + '\n' + attributes.size() + '\n' + attributes.lastModifiedTime().toMillis()).getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (Exception ex) {
+			return null;
+		}
+	}
+
+	@Nullable
+	public byte[] load(String key) {
+		var path = DIRECTORY.resolve(key + ".png");
+
+		if (Files.notExists(path)) {
+			return null;
+		}
+
+		try {
+			var bytes = Files.readAllBytes(path);
+			used.add(key);
+			return bytes;
+		} catch (Exception ex) {
+			ConsoleJS.CLIENT.warn("Failed to read cached texture " + path.getFileName(), ex);
+			return null;
+		}
+	}
+
+	public void save(String key, byte[] bytes) {
+		var path = DIRECTORY.resolve(key + ".png");
+
+		try {
+			Files.createDirectories(DIRECTORY);
+			// textures are served from several threads, never let anyone read a half written file
+			var tmp = DIRECTORY.resolve(key + ".png.tmp");
+			Files.write(tmp, bytes);
+			Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			used.add(key);
+		} catch (Exception ex) {
+			ConsoleJS.CLIENT.warn("Failed to write cached texture " + path.getFileName(), ex);
+		}
+	}
+
+	/**
+	 * Deletes entries that weren't used since last call. Does nothing until something was served from or stored in the cache, so entries survive the first reload after launch.
+	 */
+	public void prune() {
+		if (used.isEmpty() || Files.notExists(DIRECTORY)) {
+			return;
+		}
+
+		try {
+			List<Path> stale;
+
+			try (var files = Files.list(DIRECTORY)) {
+				stale = files.filter(p -> {
+					var name = p.getFileName().toString();
+					return !name.endsWith(".png") || !used.contains(name.substring(0, name.length() - 4));
+				}).toList();
+			}
+
+			for (var p : stale) {
+				Files.deleteIfExists(p);
+			}
+
+			if (!stale.isEmpty()) {
+				ConsoleJS.CLIENT.info("Deleted " + stale.size() + " stale cached textures");
+			}
+		} catch (Exception ex) {
+			ConsoleJS.CLIENT.warn("Failed to prune texture cache", ex);
+		}
+
+		used.clear();
+	}
+}
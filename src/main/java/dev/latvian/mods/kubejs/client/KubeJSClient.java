@@ -16,6 +16,7 @@ import dev.latvian.mods.kubejs.script.data.GeneratedData;
 import dev.latvian.mods.kubejs.script.data.GeneratedDataStage;
 import dev.latvian.mods.kubejs.script.data.VirtualAssetPack;
 import dev.latvian.mods.kubejs.text.tooltip.ItemTooltipData;
+import dev.latvian.mods.kubejs.text.tooltip.ItemTooltipIndex;
 import net.minecraft.SharedConstants;
 import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
@@ -51,7 +52,7 @@ public class KubeJSClient extends KubeJSCommon {
 	public static final ResourceLocation RECIPE_BUTTON_TEXTURE = ResourceLocation.parse("textures/gui/recipe_button.png");
 
 	public static final Map<GeneratedDataStage, VirtualAssetPack> CLIENT_PACKS = new EnumMap<>(GeneratedDataStage.class);
-	public static List<ItemTooltipData> clientItemTooltips = List.of();
+	public static ItemTooltipIndex clientItemTooltips = ItemTooltipIndex.EMPTY;
 
 	static {
 		for (var stage : GeneratedDataStage.values()) {
@@ -68,7 +69,7 @@ public class KubeJSClient extends KubeJSCommon {
 		KubeJS.getClientScriptManager().reload();
 		var list = new ArrayList<ItemTooltipData>();
 		ItemEvents.MODIFY_TOOLTIPS.post(ScriptType.CLIENT, new ModifyItemTooltipsKubeEvent(list::add));
-		clientItemTooltips = List.copyOf(list);
+		clientItemTooltips = new ItemTooltipIndex(List.copyOf(list));
 	}
 
 	public static void copyDefaultOptionsFile(File optionsFile) {
@@ -11,7 +11,7 @@ import dev.latvian.mods.kubejs.kubedex.KubedexHighlight;
 import dev.latvian.mods.kubejs.script.ConsoleJS;
 import dev.latvian.mods.kubejs.script.ScriptType;
 import dev.latvian.mods.kubejs.text.action.DynamicTextAction;
-import dev.latvian.mods.kubejs.text.tooltip.ItemTooltipData;
+import dev.latvian.mods.kubejs.text.tooltip.ItemTooltipIndex;
 import dev.latvian.mods.kubejs.text.tooltip.TooltipRequirements;
 import dev.latvian.mods.kubejs.util.ID;
 import dev.latvian.mods.kubejs.util.StackTraceCollector;
@@ -127,8 +127,10 @@ public class KubeJSGameClientEventHandler {
 		return true;
 	}
 
-	private static void handleItemTooltips(Minecraft mc, ItemTooltipData tooltip, DynamicItemTooltipsKubeEvent event) {
-		if ((tooltip.filter().isEmpty() || tooltip.filter().get().test(event.item)) && (tooltip.requirements().isEmpty() || testRequirements(mc, event, tooltip.requirements().get()))) {
+	private static void handleItemTooltips(Minecraft mc, ItemTooltipIndex.Entry entry, DynamicItemTooltipsKubeEvent event) {
+		var tooltip = entry.tooltip();
+
+		if ((!entry.test() || tooltip.filter().get().test(event.item)) && (tooltip.requirements().isEmpty() || testRequirements(mc, event, tooltip.requirements().get()))) {
 			for (var action : tooltip.actions()) {
 				if (action instanceof DynamicTextAction dynamic) {
 					try {
@@ -158,13 +160,15 @@ public class KubeJSGameClientEventHandler {
 
 		var dynamicEvent = new DynamicItemTooltipsKubeEvent(stack, flags, lines, sessionData == null);
 
-		for (var tooltip : KubeJSClient.clientItemTooltips) {
-			handleItemTooltips(mc, tooltip, dynamicEvent);
+		var item = stack.getItem();
+
+		for (var entry : KubeJSClient.clientItemTooltips.get(item)) {
+			handleItemTooltips(mc, entry, dynamicEvent);
 		}
 
 		if (sessionData != null) {
-			for (var tooltip : sessionData.itemTooltips) {
-				handleItemTooltips(mc, tooltip, dynamicEvent);
+			for (var entry : sessionData.itemTooltips.get(item)) {
+				handleItemTooltips(mc, entry, dynamicEvent);
 			}
 		}
 
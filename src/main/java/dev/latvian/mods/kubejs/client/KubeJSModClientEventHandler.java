@@ -19,6 +19,7 @@ import dev.latvian.mods.kubejs.registry.RegistryObjectStorage;
 import dev.latvian.mods.kubejs.script.PlatformWrapper;
 import dev.latvian.mods.kubejs.script.ScriptType;
 import dev.latvian.mods.kubejs.text.tooltip.ItemTooltipData;
+import dev.latvian.mods.kubejs.text.tooltip.ItemTooltipIndex;
 import dev.latvian.mods.kubejs.util.ID;
 import dev.latvian.mods.kubejs.web.LocalWebServer;
 import dev.latvian.mods.kubejs.web.WebServerProperties;
@@ -106,7 +107,7 @@ public class KubeJSModClientEventHandler {
 
 		var list = new ArrayList<ItemTooltipData>();
 		ItemEvents.MODIFY_TOOLTIPS.post(ScriptType.CLIENT, new ModifyItemTooltipsKubeEvent(list::add));
-		KubeJSClient.clientItemTooltips = List.copyOf(list);
+		KubeJSClient.clientItemTooltips = new ItemTooltipIndex(List.copyOf(list));
 	}
 
 	@SubscribeEvent
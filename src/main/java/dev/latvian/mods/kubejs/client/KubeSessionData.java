@@ -4,7 +4,7 @@ import dev.latvian.mods.kubejs.core.ClientPacketListenerKJS;
 import dev.latvian.mods.kubejs.net.KubeServerData;
 import dev.latvian.mods.kubejs.recipe.viewer.server.RecipeViewerData;
 import dev.latvian.mods.kubejs.recipe.viewer.server.RemoteRecipeViewerDataUpdatedEvent;
-import dev.latvian.mods.kubejs.text.tooltip.ItemTooltipData;
+import dev.latvian.mods.kubejs.text.tooltip.ItemTooltipIndex;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientPacketListener;
 import net.minecraft.resources.ResourceLocation;
@@ -26,12 +26,12 @@ public class KubeSessionData {
 
 	public ResourceLocation activePostShader = null;
 	public RecipeViewerData recipeViewerData = null;
-	public List<ItemTooltipData> itemTooltips = List.of();
+	public ItemTooltipIndex itemTooltips = ItemTooltipIndex.EMPTY;
 	// FIXME public final Map<String, KGUI> kgui = new HashMap<>();
 
 	public void sync(KubeServerData data) {
 		recipeViewerData = data.recipeViewerData().orElse(null);
-		itemTooltips = List.copyOf(data.itemTooltipData());
+		itemTooltips = new ItemTooltipIndex(List.copyOf(data.itemTooltipData()));
 
 		NeoForge.EVENT_BUS.post(new RemoteRecipeViewerDataUpdatedEvent(recipeViewerData));
 	}
@@ -4,6 +4,7 @@ import dev.latvian.mods.kubejs.KubeJS;
 import dev.latvian.mods.kubejs.KubeJSPaths;
 import dev.latvian.mods.kubejs.color.KubeColor;
 import it.unimi.dsi.fastutil.ints.Int2IntArrayMap;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 import org.jetbrains.annotations.Nullable;
@@ -16,35 +17,58 @@ import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 
 public class LoadedTexture {
 	public static final LoadedTexture EMPTY = new LoadedTexture(0, 0, new int[0], null);
 
-	public static LoadedTexture load(ResourceLocation id) {
-		try {
-			var path = KubeJSPaths.ASSETS.resolve(id.getNamespace() + "/textures/" + id.getPath() + ".png");
-
-			if (Files.exists(path)) {
-				try (var in = new BufferedInputStream(Files.newInputStream(path))) {
-					var metaPath = KubeJSPaths.ASSETS.resolve(id.getNamespace() + "/textures/" + id.getPath() + ".png.mcmeta");
-					return new LoadedTexture(ImageIO.read(in), Files.exists(metaPath) ? Files.readAllBytes(metaPath) : null);
-				}
-			} else if (id.getNamespace().equals(KubeJS.MOD_ID)) {
-				var path1 = KubeJS.thisMod.getModInfo().getOwningFile().getFile().findResource("assets", "kubejs", "textures", id.getPath() + ".png");
-
-				if (Files.exists(path1)) {
-					try (var in = new BufferedInputStream(Files.newInputStream(path1))) {
-						var metaPath = KubeJS.thisMod.getModInfo().getOwningFile().getFile().findResource("assets", "kubejs", "textures", id.getPath() + ".png.mcmeta");
-						return new LoadedTexture(ImageIO.read(in), Files.exists(metaPath) ? Files.readAllBytes(metaPath) : null);
-					}
-				}
+	/**
+	 * @return path of the source .png file of this texture, or null if it's not a file in kubejs/assets or KubeJS itself
+	 */
+	@Nullable
+	public static Path findPath(ResourceLocation id) {
+		var path = KubeJSPaths.ASSETS.resolve(id.getNamespace() + "/textures/" + id.getPath() + ".png");
+
+		if (Files.exists(path)) {
+			return path;
+		} else if (id.getNamespace().equals(KubeJS.MOD_ID)) {
+			var path1 = KubeJS.thisMod.getModInfo().getOwningFile().getFile().findResource("assets", "kubejs", "textures", id.getPath() + ".png");
+
+			if (Files.exists(path1)) {
+				return path1;
 			}
+		}
+
+		return null;
+	}
+
+	public static LoadedTexture load(ResourceLocation id) {
+		var path = findPath(id);
+
+		if (path == null) {
+			return EMPTY;
+		}
+
+		try (var in = new BufferedInputStream(Files.newInputStream(path))) {
+			var metaPath = path.resolveSibling(path.getFileName() + ".mcmeta");
+			return new LoadedTexture(ImageIO.read(in), Files.exists(metaPath) ? Files.readAllBytes(metaPath) : null);
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
+	}
+
+	/**
+	 * Checks for a .png.mcmeta file without reading the texture itself
+	 */
+	public static boolean hasMetadata(ResourceLocation id) {
+		if (Files.exists(KubeJSPaths.ASSETS.resolve(id.getNamespace() + "/textures/" + id.getPath() + ".png.mcmeta"))) {
+			return true;
+		} else if (id.getNamespace().equals(KubeJS.MOD_ID)) {
+			return Files.exists(KubeJS.thisMod.getModInfo().getOwningFile().getFile().findResource("assets", "kubejs", "textures", id.getPath() + ".png.mcmeta"));
+		}
 
-		return EMPTY;
+		return false;
 	}
 
 	public final int width;
@@ -103,6 +127,14 @@ public class LoadedTexture {
 			colorMap.put(k.kjs$getARGB(), v.kjs$getARGB());
 		}
 
+		return remap(colorMap);
+	}
+
+	public LoadedTexture remap(Int2IntMap colorMap) {
+		if (colorMap.isEmpty()) {
+			return this;
+		}
+
 		int[] result = new int[pixels.length];
 
 		for (int i = 0; i < pixels.length; i++) {
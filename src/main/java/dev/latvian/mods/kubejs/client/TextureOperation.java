@@ -0,0 +1,63 @@
+package dev.latvian.mods.kubejs.client;
+
+import dev.latvian.mods.kubejs.generator.KubeAssetGenerator;
+import dev.latvian.mods.kubejs.util.ConcurrentLazy;
+import dev.latvian.mods.kubejs.util.ID;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * Result of a texture operation, only created and encoded once something asks for it. Encoded bytes are shared by every texture using this operation,
+ * and are read from and stored in cache when there is one.
+ */
+public class TextureOperation implements Supplier<LoadedTexture> {
+	public final KubeAssetGenerator.TextureKey key;
+	private final ConcurrentLazy<LoadedTexture> texture;
+	private final ConcurrentLazy<byte[]> bytes;
+
+	/**
+	 * @param generator used to check if the input is a generated texture when this is encoded, those have no source file to validate the cache against
+	 */
+	public TextureOperation(KubeAssetGenerator.TextureKey key, Supplier<LoadedTexture> factory, @Nullable GeneratedTextureCache cache, @Nullable KubeAssetGenerator generator) {
+		this.key = key;
+		this.texture = ConcurrentLazy.of(factory);
+		this.bytes = ConcurrentLazy.of(() -> encode(cache, generator));
+	}
+
+	@Override
+	public LoadedTexture get() {
+		return texture.get();
+	}
+
+	public byte[] toBytes() {
+		return bytes.get();
+	}
+
+	private byte[] encode(@Nullable GeneratedTextureCache cache, @Nullable KubeAssetGenerator generator) {
+		// checked here rather than on creation, the input may have been generated by a builder that ran later
+		boolean generatedInput = generator != null && generator.getGenerated(key.input().withPath(ID.PNG_TEXTURE)) != null;
+		var cacheKey = cache == null || generatedInput ? null : GeneratedTextureCache.key(key);
+
+		if (cacheKey != null) {
+			var cached = cache.load(cacheKey);
+
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		var result = texture.get().toBytes();
+
+		if (cacheKey != null && result.length > 0) {
+			cache.save(cacheKey, result);
+		}
+
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "TextureOperation[" + key.operation() + ", " + key.input() + "]";
+	}
+}
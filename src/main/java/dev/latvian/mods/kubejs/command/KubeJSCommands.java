@@ -15,6 +15,8 @@ import dev.latvian.mods.kubejs.KubeJS;
 import dev.latvian.mods.kubejs.KubeJSPaths;
 import dev.latvian.mods.kubejs.bindings.TextIcons;
 import dev.latvian.mods.kubejs.bindings.event.ServerEvents;
+import dev.latvian.mods.kubejs.event.EventHandlerContainer;
+import dev.latvian.mods.kubejs.event.EventProfiler;
 import dev.latvian.mods.kubejs.net.DisplayClientErrorsPayload;
 import dev.latvian.mods.kubejs.net.DisplayServerErrorsPayload;
 import dev.latvian.mods.kubejs.net.ReloadStartupScriptsPayload;
@@ -180,6 +182,21 @@ public class KubeJSCommands {
 					.executes(context -> DumpCommands.events(context.getSource()))
 				)
 			)
+			.then(Commands.literal("profile")
+				.requires(spOrOP)
+				.then(Commands.literal("events")
+					.executes(context -> profileEvents(context.getSource()))
+					.then(Commands.literal("start")
+						.executes(context -> profileEventsStart(context.getSource()))
+					)
+					.then(Commands.literal("stop")
+						.executes(context -> profileEventsStop(context.getSource()))
+					)
+					.then(Commands.literal("reset")
+						.executes(context -> profileEventsReset(context.getSource()))
+					)
+				)
+			)
 			.then(Commands.literal("stages")
 				.requires(spOrOP)
 				.then(Commands.literal("add")
@@ -280,6 +297,49 @@ public class KubeJSCommands {
 		return Command.SINGLE_SUCCESS;
 	}
 
+	private static int profileEvents(CommandSourceStack source) {
+		var list = EventProfiler.collect();
+
+		if (list.isEmpty()) {
+			source.sendSystemMessage(Component.literal(EventHandlerContainer.profile ? "No event handlers have been called yet" : "Event profiling isn't running, start it with /kubejs profile events start"));
+			return 0;
+		}
+
+		source.sendSystemMessage(Component.literal("Slowest event handlers" + (EventHandlerContainer.profile ? "" : " (profiling stopped)") + ":").withStyle(ChatFormatting.YELLOW));
+
+		for (int i = 0; i < Math.min(list.size(), 10); i++) {
+			var e = list.get(i);
+			var c = e.container();
+
+			source.sendSystemMessage(Component.empty()
+				.append(Component.literal("%.2f ms".formatted(c.totalNanos.sum() / 1_000_000D)).withStyle(ChatFormatting.GOLD))
+				.append(Component.literal(" [" + c.calls.sum() + " calls, max %.2f ms] ".formatted(c.maxNanos.get() / 1_000_000D)).withStyle(ChatFormatting.GRAY))
+				.append(Component.literal(e.event() + " ").withStyle(ChatFormatting.GREEN))
+				.append(Component.literal(c.source + "#" + c.line).withStyle(ChatFormatting.AQUA))
+			);
+		}
+
+		return list.size();
+	}
+
+	private static int profileEventsStart(CommandSourceStack source) {
+		EventProfiler.start();
+		source.sendSystemMessage(Component.literal("Started profiling event handlers"));
+		return 1;
+	}
+
+	private static int profileEventsStop(CommandSourceStack source) {
+		EventProfiler.stop();
+		source.sendSystemMessage(Component.literal("Stopped profiling event handlers"));
+		return profileEvents(source);
+	}
+
+	private static int profileEventsReset(CommandSourceStack source) {
+		EventProfiler.reset();
+		source.sendSystemMessage(Component.literal("Reset event handler profile"));
+		return 1;
+	}
+
 	private static int customCommand(CommandSourceStack source, String id, String input) {
 		if (ServerEvents.BASIC_COMMAND.hasListeners(id)) {
 			var result = ServerEvents.BASIC_COMMAND.post(new BasicCommandKubeEvent(source.getLevel(), source.getEntity(), BlockPos.containing(source.getPosition()), id, input.trim()), id);
@@ -2,16 +2,28 @@ package dev.latvian.mods.kubejs.core;
 
 import dev.latvian.mods.kubejs.error.KubeRuntimeException;
 import dev.latvian.mods.kubejs.recipe.match.FluidMatch;
+import dev.latvian.mods.kubejs.util.RegistryAccessContainer;
 import dev.latvian.mods.rhino.Context;
 import dev.latvian.mods.rhino.util.RemapPrefixForJS;
 import net.neoforged.neoforge.fluids.FluidStack;
 import net.neoforged.neoforge.fluids.crafting.FluidIngredient;
+import net.neoforged.neoforge.fluids.crafting.TagFluidIngredient;
 
 @RemapPrefixForJS("kjs$")
 public interface FluidIngredientKJS extends FluidMatch {
 	@Override
 	default boolean matches(Context cx, FluidStack s, boolean exact) {
-		return !s.isEmpty() && ((FluidIngredient) this).test(s);
+		if (s.isEmpty()) {
+			return false;
+		} else if ((FluidIngredient) this instanceof TagFluidIngredient t) {
+			var tags = RegistryAccessContainer.of(cx).cachedFluidTags;
+
+			if (tags != null) {
+				return tags.contains(t.tag(), s.getFluid());
+			}
+		}
+
+		return ((FluidIngredient) this).test(s);
 	}
 
 	@Override
@@ -21,6 +33,14 @@ public interface FluidIngredientKJS extends FluidMatch {
 		}
 
 		try {
+			if ((FluidIngredient) this instanceof TagFluidIngredient t1 && in instanceof TagFluidIngredient t2) {
+				var tags = RegistryAccessContainer.of(cx).cachedFluidTags;
+
+				if (tags != null) {
+					return tags.bits(t1.tag()).intersects(tags.bits(t2.tag()));
+				}
+			}
+
 			for (var stack : ((FluidIngredient) this).getStacks()) {
 				if (in.test(stack)) {
 					return true;
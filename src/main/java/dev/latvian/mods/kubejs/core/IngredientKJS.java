@@ -92,9 +92,19 @@ public interface IngredientKJS extends ItemPredicate, Replaceable, WithCodec, It
 		} else if (exact) {
 			var stacks = kjs$getStacks();
 			return stacks.size() == 1 && ItemStack.isSameItemSameComponents(stacks.getFirst(), item);
-		} else {
-			return test(item);
 		}
+
+		var tag = kjs$getTagKey();
+
+		if (tag != null) {
+			var tags = RegistryAccessContainer.of(cx).cachedItemTags;
+
+			if (tags != null) {
+				return tags.contains(tag, item.getItem());
+			}
+		}
+
+		return test(item);
 	}
 
 	@Override
@@ -115,6 +125,26 @@ public interface IngredientKJS extends ItemPredicate, Replaceable, WithCodec, It
 		}
 
 		try {
+			var tag = kjs$getTagKey();
+			var tags = tag == null ? null : RegistryAccessContainer.of(cx).cachedItemTags;
+
+			if (tags != null) {
+				var bits = tags.bits(tag);
+				var inTag = IngredientWrapper.tagKeyOf(in);
+
+				if (inTag != null) {
+					return bits.intersects(tags.bits(inTag));
+				}
+
+				for (var stack : in.getItems()) {
+					if (!stack.isEmpty() && bits.contains(stack.getItem())) {
+						return true;
+					}
+				}
+
+				return false;
+			}
+
 			for (var stack : in.getItems()) {
 				if (test(stack)) {
 					return true;
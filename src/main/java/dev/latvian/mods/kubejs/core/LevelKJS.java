@@ -1,10 +1,13 @@
 package dev.latvian.mods.kubejs.core;
 
+import dev.latvian.mods.kubejs.block.entity.BlockEntityInfo;
+import dev.latvian.mods.kubejs.block.entity.BlockEntityTickScheduler;
 import dev.latvian.mods.kubejs.level.CachedLevelBlock;
 import dev.latvian.mods.kubejs.level.ExplosionJS;
 import dev.latvian.mods.kubejs.level.LevelBlock;
 import dev.latvian.mods.kubejs.script.ScriptType;
 import dev.latvian.mods.kubejs.script.ScriptTypeHolder;
+import dev.latvian.mods.rhino.util.HideFromJS;
 import dev.latvian.mods.rhino.util.RemapForJS;
 import dev.latvian.mods.rhino.util.RemapPrefixForJS;
 import net.minecraft.core.BlockPos;
@@ -24,6 +27,7 @@ import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.storage.ServerLevelData;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
 import java.util.function.Consumer;
 
 @RemapPrefixForJS("kjs$")
@@ -180,4 +184,9 @@ public interface LevelKJS extends WithAttachedData<Level>, ScriptTypeHolder, Ent
 	default void kjs$spawnLightning(double x, double y, double z, boolean visualOnly) {
 		kjs$spawnLightning(x, y, z, visualOnly, null);
 	}
+
+	@HideFromJS
+	default Map<BlockEntityInfo, BlockEntityTickScheduler> kjs$getBlockEntityTickSchedulers() {
+		throw new NoMixinException();
+	}
 }
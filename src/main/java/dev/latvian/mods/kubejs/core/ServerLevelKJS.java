@@ -1,5 +1,7 @@
 package dev.latvian.mods.kubejs.core;
 
+import dev.latvian.mods.kubejs.block.entity.BlockEntityFlushScheduler;
+import dev.latvian.mods.rhino.util.HideFromJS;
 import dev.latvian.mods.rhino.util.RemapPrefixForJS;
 import net.minecraft.core.particles.ParticleOptions;
 import net.minecraft.server.level.ServerLevel;
@@ -17,4 +19,9 @@ public interface ServerLevelKJS extends LevelKJS, WithPersistentData {
 			kjs$self().sendParticles(player, options, overrideLimiter, x, y, z, count, vx, vy, vz, speed);
 		}
 	}
+
+	@HideFromJS
+	default BlockEntityFlushScheduler kjs$getBlockEntityFlushScheduler() {
+		throw new NoMixinException();
+	}
 }
@@ -1,5 +1,7 @@
 package dev.latvian.mods.kubejs.core.mixin;
 
+import dev.latvian.mods.kubejs.block.entity.BlockEntityInfo;
+import dev.latvian.mods.kubejs.block.entity.BlockEntityTickScheduler;
 import dev.latvian.mods.kubejs.core.LevelKJS;
 import dev.latvian.mods.kubejs.plugin.KubeJSPlugin;
 import dev.latvian.mods.kubejs.plugin.KubeJSPlugins;
@@ -7,6 +9,7 @@ import dev.latvian.mods.kubejs.util.AttachedData;
 import dev.latvian.mods.rhino.util.HideFromJS;
 import dev.latvian.mods.rhino.util.RemapForJS;
 import dev.latvian.mods.rhino.util.RemapPrefixForJS;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.Level;
@@ -16,6 +19,7 @@ import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
 
+import java.util.Map;
 import java.util.UUID;
 
 @Mixin(Level.class)
@@ -24,6 +28,9 @@ public abstract class LevelMixin implements LevelKJS {
 	@Unique
 	private AttachedData<Level> kjs$attachedData;
 
+	@Unique
+	private Map<BlockEntityInfo, BlockEntityTickScheduler> kjs$blockEntityTickSchedulers;
+
 	@Override
 	public AttachedData<Level> kjs$getData() {
 		if (kjs$attachedData == null) {
@@ -34,6 +41,15 @@ public abstract class LevelMixin implements LevelKJS {
 		return kjs$attachedData;
 	}
 
+	@Override
+	public Map<BlockEntityInfo, BlockEntityTickScheduler> kjs$getBlockEntityTickSchedulers() {
+		if (kjs$blockEntityTickSchedulers == null) {
+			kjs$blockEntityTickSchedulers = new Reference2ObjectLinkedOpenHashMap<>();
+		}
+
+		return kjs$blockEntityTickSchedulers;
+	}
+
 	@Shadow
 	@RemapForJS("getTime")
 	public abstract long getGameTime();
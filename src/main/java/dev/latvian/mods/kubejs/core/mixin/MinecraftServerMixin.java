@@ -2,6 +2,7 @@ package dev.latvian.mods.kubejs.core.mixin;
 
 import dev.latvian.mods.kubejs.bindings.event.ServerEvents;
 import dev.latvian.mods.kubejs.core.MinecraftServerKJS;
+import dev.latvian.mods.kubejs.event.EventBudget;
 import dev.latvian.mods.kubejs.gui.chest.CustomChestMenu;
 import dev.latvian.mods.kubejs.plugin.KubeJSPlugin;
 import dev.latvian.mods.kubejs.plugin.KubeJSPlugins;
@@ -92,6 +93,11 @@ public abstract class MinecraftServerMixin implements MinecraftServerKJS {
 		return kjs$overworld;
 	}
 
+	@Inject(method = "tickServer", at = @At("HEAD"))
+	private void kjs$preTickServer(BooleanSupplier booleanSupplier, CallbackInfo ci) {
+		EventBudget.startTick();
+	}
+
 	@Inject(method = "tickServer", at = @At("RETURN"))
 	private void kjs$postTickServer(BooleanSupplier booleanSupplier, CallbackInfo ci) {
 		ScheduledServerEvent.EVENTS.tickAll(kjs$getOverworld().getGameTime());
@@ -1,5 +1,6 @@
 package dev.latvian.mods.kubejs.core.mixin;
 
+import dev.latvian.mods.kubejs.block.entity.BlockEntityFlushScheduler;
 import dev.latvian.mods.kubejs.core.ServerLevelKJS;
 import dev.latvian.mods.rhino.util.HideFromJS;
 import dev.latvian.mods.rhino.util.RemapPrefixForJS;
@@ -22,6 +23,9 @@ public abstract class ServerLevelMixin implements ServerLevelKJS {
 	@Unique
 	private CompoundTag kjs$persistentData;
 
+	@Unique
+	private BlockEntityFlushScheduler kjs$blockEntityFlushScheduler;
+
 	@Override
 	public CompoundTag kjs$getPersistentData() {
 		if (kjs$persistentData == null) {
@@ -33,6 +37,15 @@ public abstract class ServerLevelMixin implements ServerLevelKJS {
 		return kjs$persistentData;
 	}
 
+	@Override
+	public BlockEntityFlushScheduler kjs$getBlockEntityFlushScheduler() {
+		if (kjs$blockEntityFlushScheduler == null) {
+			kjs$blockEntityFlushScheduler = new BlockEntityFlushScheduler(kjs$self());
+		}
+
+		return kjs$blockEntityFlushScheduler;
+	}
+
 	@Shadow
 	@HideFromJS
 	public abstract List<ServerPlayer> players();
@@ -0,0 +1,149 @@
+package dev.latvian.mods.kubejs.event;
+
+import com.google.gson.JsonObject;
+import dev.latvian.mods.kubejs.CommonProperties;
+import dev.latvian.mods.kubejs.script.ConsoleJS;
+
+/**
+ * Time budget of event handlers called on the server thread, configured in common properties.
+ * <ul>
+ *     <li><code>event_handler_budget_ms</code> - warns when a single handler call takes longer than this</li>
+ *     <li><code>event_tick_budget_ms</code> - total time handlers can take per server tick</li>
+ *     <li><code>throttle_slow_event_handlers</code> - skips handlers that overrun <code>slow_event_handler_strikes</code> times for <code>slow_event_handler_skip_ticks</code> ticks,
+ *     and skips all handlers once the tick budget is used up</li>
+ * </ul>
+ * Only handlers of events without a result are ever skipped, as skipping a cancellable event would change its outcome.
+ */
+public class EventBudget {
+	static boolean enabled = false;
+	static Thread serverThread = null;
+
+	private static long handlerBudgetNanos = 0L;
+	private static long tickBudgetNanos = 0L;
+	private static boolean throttle = false;
+	private static int strikes = 3;
+	private static int skipTicks = 100;
+
+	private static long tick = 0L;
+	private static long tickNanos = 0L;
+	// time of handlers called by events posted from within the handler that is currently running
+	private static long nestedNanos = 0L;
+	private static long lastTickWarning = -1200L;
+
+	public static long overruns = 0L;
+	public static long skippedCalls = 0L;
+	public static long exceededTicks = 0L;
+	public static long maxTickNanos = 0L;
+
+	/**
+	 * Called at the start of every server tick
+	 */
+	public static void startTick() {
+		var properties = CommonProperties.get();
+		handlerBudgetNanos = (long) (properties.eventHandlerBudgetMs * 1_000_000D);
+		tickBudgetNanos = (long) (properties.eventTickBudgetMs * 1_000_000D);
+		throttle = properties.throttleSlowEventHandlers;
+		strikes = Math.max(1, properties.slowEventHandlerStrikes);
+		skipTicks = Math.max(1, properties.slowEventHandlerSkipTicks);
+		enabled = handlerBudgetNanos > 0L || tickBudgetNanos > 0L;
+		serverThread = Thread.currentThread();
+
+		if (tickBudgetNanos > 0L && tickNanos > tickBudgetNanos) {
+			exceededTicks++;
+		}
+
+		if (tickNanos > maxTickNanos) {
+			maxTickNanos = tickNanos;
+		}
+
+		tick++;
+		tickNanos = 0L;
+		nestedNanos = 0L;
+	}
+
+	static boolean isActive() {
+		return enabled && Thread.currentThread() == serverThread;
+	}
+
+	static boolean shouldSkip(ConsoleJS console, EventHandler handler, EventHandlerContainer container) {
+		if (!throttle || handler.getResult() != null) {
+			return false;
+		}
+
+		if (container.skipUntilTick > tick) {
+			skippedCalls++;
+			container.skippedCalls++;
+			return true;
+		}
+
+		if (tickBudgetNanos > 0L && tickNanos >= tickBudgetNanos) {
+			skippedCalls++;
+			container.skippedCalls++;
+
+			if (tick - lastTickWarning >= 1200L) {
+				lastTickWarning = tick;
+				console.warn("Event handlers have used up the tick budget of %.2f ms, skipping handlers of events without a result until the next tick".formatted(tickBudgetNanos / 1_000_000D));
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Called before a handler runs
+	 *
+	 * @return nested time of the outer handler, to be passed back to {@link #record}
+	 */
+	static long enter() {
+		long outer = nestedNanos;
+		nestedNanos = 0L;
+		return outer;
+	}
+
+	/**
+	 * Records time of a handler call, without the time of handlers of events it posted itself, as those have already been recorded on their own
+	 */
+	static void record(ConsoleJS console, EventHandler handler, EventHandlerContainer container, long totalNanos, long outerNestedNanos) {
+		long nanos = Math.max(0L, totalNanos - nestedNanos);
+		nestedNanos = outerNestedNanos + totalNanos;
+		tickNanos += nanos;
+
+		if (handlerBudgetNanos > 0L && nanos > handlerBudgetNanos) {
+			overruns++;
+			container.overruns++;
+			container.strikes++;
+
+			if (throttle && handler.getResult() == null && container.strikes >= strikes) {
+				container.strikes = 0;
+				container.skipUntilTick = tick + skipTicks;
+				console.warn("Event handler '%s' at %s#%d took %.2f ms, over the budget of %.2f ms %d times, skipping it for %d ticks".formatted(handler, container.source, container.line, nanos / 1_000_000D, handlerBudgetNanos / 1_000_000D, strikes, skipTicks));
+			} else if (tick - container.lastWarningTick >= 100L) {
+				container.lastWarningTick = tick;
+				console.warn("Event handler '%s' at %s#%d took %.2f ms, over the budget of %.2f ms".formatted(handler, container.source, container.line, nanos / 1_000_000D, handlerBudgetNanos / 1_000_000D));
+			}
+		}
+	}
+
+	public static JsonObject toJson() {
+		var json = new JsonObject();
+		json.addProperty("enabled", enabled);
+		json.addProperty("handler_budget_ms", handlerBudgetNanos / 1_000_000D);
+		json.addProperty("tick_budget_ms", tickBudgetNanos / 1_000_000D);
+		json.addProperty("throttle", throttle);
+		json.addProperty("ticks", tick);
+		json.addProperty("overruns", overruns);
+		json.addProperty("skipped_calls", skippedCalls);
+		json.addProperty("exceeded_ticks", exceededTicks);
+		json.addProperty("max_tick_ms", maxTickNanos / 1_000_000D);
+		return json;
+	}
+
+	public static void reset() {
+		overruns = 0L;
+		skippedCalls = 0L;
+		exceededTicks = 0L;
+		maxTickNanos = 0L;
+	}
+}
@@ -32,6 +32,9 @@ public class EventHandler extends BaseFunction {
 	public transient boolean targetRequired;
 	protected EventHandlerContainer[] eventContainers;
 	public transient EventExceptionHandler exceptionHandler;
+	// handlers of each script type flattened in call order, built lazily after handlers change
+	// resolved lazily by posting threads, volatile so they never see a partly built array
+	private volatile EventHandlerContainer[][] resolvedContainers;
 
 	EventHandler(EventGroup g, String n, ScriptTypePredicate st, Supplier<Class<? extends KubeEvent>> e) {
 		this.group = g;
@@ -43,6 +46,7 @@ public class EventHandler extends BaseFunction {
 		this.targetRequired = false;
 		this.eventContainers = null;
 		this.exceptionHandler = null;
+		this.resolvedContainers = null;
 	}
 
 	/**
@@ -102,6 +106,68 @@ public class EventHandler extends BaseFunction {
 				eventContainers = null;
 			}
 		}
+
+		invalidateResolved();
+	}
+
+	/**
+	 * Removes handlers that were registered by a script file, so it can be evaluated again
+	 */
+	@HideFromJS
+	public void removeListeners(ScriptType type, String source) {
+		if (eventContainers != null && eventContainers[type.ordinal()] != null) {
+			eventContainers[type.ordinal()] = eventContainers[type.ordinal()].without(source);
+
+			if (EventHandlerContainer.isEmpty(eventContainers)) {
+				eventContainers = null;
+			}
+		}
+
+		invalidateResolved();
+	}
+
+	@HideFromJS
+	public void freeze(ScriptType type) {
+		if (eventContainers != null && eventContainers[type.ordinal()] != null) {
+			eventContainers[type.ordinal()].freeze();
+		}
+
+		invalidateResolved();
+		resolve();
+	}
+
+	/**
+	 * Synchronized with lazy rebuilds, so an array built from handlers before the change can't be published after it
+	 */
+	protected synchronized void invalidateResolved() {
+		resolvedContainers = null;
+	}
+
+	/**
+	 * Flattens handlers of all script types, so posting an event is one array lookup and a loop
+	 */
+	protected synchronized void resolve() {
+		resolvedContainers = EventHandlerContainer.flatten(eventContainers);
+	}
+
+	/**
+	 * @return all handlers that have to be called for this script type and extra id, in order
+	 */
+	protected EventHandlerContainer[] resolvedContainers(ScriptType type, @Nullable Object extraId) {
+		var r = resolvedContainers;
+
+		if (r == null) {
+			synchronized (this) {
+				r = resolvedContainers;
+
+				if (r == null) {
+					r = EventHandlerContainer.flatten(eventContainers);
+					resolvedContainers = r;
+				}
+			}
+		}
+
+		return r[type.ordinal()];
 	}
 
 	public boolean hasListeners() {
@@ -147,6 +213,8 @@ public class EventHandler extends BaseFunction {
 		} else {
 			map[index].add(extraId, handler, source, line[0]);
 		}
+
+		invalidateResolved();
 	}
 
 	protected EventHandlerContainer[] createMap(@Nullable Object extraId) {
@@ -204,38 +272,10 @@ public class EventHandler extends BaseFunction {
 		var eventResult = EventResult.PASS;
 
 		try {
-			var extraContainers = this instanceof TargetedEventHandler<?> h ? (h.extraEventContainers == null ? null : h.extraEventContainers.get(extraId)) : null;
+			var containers = resolvedContainers(scriptType, extraId);
 
-			if (extraContainers != null) {
-				var handler = extraContainers[scriptType.ordinal()];
-
-				if (handler != null) {
-					handler.handle(scriptType.console, this, event);
-				}
-
-				if (!scriptType.isStartup()) {
-					handler = extraContainers[ScriptType.STARTUP.ordinal()];
-
-					if (handler != null) {
-						handler.handle(scriptType.console, this, event);
-					}
-				}
-			}
-
-			if (eventContainers != null) {
-				var handler = eventContainers[scriptType.ordinal()];
-
-				if (handler != null) {
-					handler.handle(scriptType.console, this, event);
-				}
-
-				if (!scriptType.isStartup()) {
-					handler = eventContainers[ScriptType.STARTUP.ordinal()];
-
-					if (handler != null) {
-						handler.handle(scriptType.console, this, event);
-					}
-				}
+			for (var container : containers) {
+				container.handleSingle(scriptType.console, this, event);
 			}
 		} catch (EventExit exit) {
 			eventResult = exit.result;
@@ -278,9 +318,8 @@ public class EventHandler extends BaseFunction {
 		if (eventContainers != null) {
 			var c = eventContainers[type.ordinal()];
 
-			while (c != null) {
-				callback.accept(c);
-				c = c.child;
+			if (c != null) {
+				c.forEach(callback);
 			}
 		}
 	}
@@ -2,10 +2,22 @@ package dev.latvian.mods.kubejs.event;
 
 import dev.latvian.mods.kubejs.DevProperties;
 import dev.latvian.mods.kubejs.script.ConsoleJS;
+import dev.latvian.mods.kubejs.script.ScriptType;
 import dev.latvian.mods.rhino.WrappedException;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
 public class EventHandlerContainer {
+	/**
+	 * When enabled, every handler call updates {@link #calls}, {@link #totalNanos} and {@link #maxNanos}
+	 */
+	public static volatile boolean profile = false;
+
 	public static boolean isEmpty(@Nullable EventHandlerContainer[] array) {
 		if (array == null) {
 			return true;
@@ -20,11 +32,56 @@ public class EventHandlerContainer {
 		return true;
 	}
 
+	static final EventHandlerContainer[] EMPTY_ARRAY = new EventHandlerContainer[0];
+
+	/**
+	 * @return all handlers of each script type in the order they are called - handlers of the type, then startup handlers (unless the type is startup), for each array in order
+	 */
+	static EventHandlerContainer[][] flatten(@Nullable EventHandlerContainer[]... arrays) {
+		var result = new EventHandlerContainer[ScriptType.VALUES.length][];
+		var list = new ArrayList<EventHandlerContainer>();
+
+		for (var type : ScriptType.VALUES) {
+			list.clear();
+
+			for (var array : arrays) {
+				if (array != null) {
+					if (array[type.ordinal()] != null) {
+						array[type.ordinal()].forEach(list::add);
+					}
+
+					if (!type.isStartup() && array[ScriptType.STARTUP.ordinal()] != null) {
+						array[ScriptType.STARTUP.ordinal()].forEach(list::add);
+					}
+				}
+			}
+
+			result[type.ordinal()] = list.isEmpty() ? EMPTY_ARRAY : list.toArray(EMPTY_ARRAY);
+		}
+
+		return result;
+	}
+
 	public final Object target;
 	public final IEventHandler handler;
 	public final String source;
 	public final int line;
-	EventHandlerContainer child;
+
+	// All handlers in registration order, including this one. Only used by the first container, trimmed in freeze()
+	private EventHandlerContainer[] chain;
+	private int chainSize;
+
+	// handlers can be called from several threads at once, such as worldgen, tag loading and async recipe lookups
+	public final LongAdder calls = new LongAdder();
+	public final LongAdder totalNanos = new LongAdder();
+	public final AtomicLong maxNanos = new AtomicLong();
+
+	// see EventBudget
+	public long overruns;
+	public long skippedCalls;
+	int strikes;
+	long skipUntilTick;
+	long lastWarningTick = -100L;
 
 	public EventHandlerContainer(Object target, IEventHandler handler, String source, int line) {
 		this.target = target;
@@ -33,57 +90,158 @@ public class EventHandlerContainer {
 		this.line = line;
 	}
 
+	/**
+	 * Calls this handler and the rest of its chain. Posting goes through the handler's resolved arrays, this is kept for callers outside of it
+	 */
 	public EventResult handle(ConsoleJS console, EventHandler handler, KubeEvent event) throws EventExit {
-		var itr = this;
+		var c = chain;
+
+		if (c == null) {
+			handleSingle(console, handler, event);
+		} else {
+			for (int i = 0, size = Math.min(chainSize, c.length); i < size; i++) {
+				c[i].handleSingle(console, handler, event);
+			}
+		}
+
+		return EventResult.PASS;
+	}
+
+	void handleSingle(ConsoleJS console, EventHandler handler, KubeEvent event) throws EventExit {
+		boolean budget = EventBudget.isActive();
+
+		if (!profile && !budget) {
+			handle0(console, handler, event);
+			return;
+		} else if (budget && EventBudget.shouldSkip(console, handler, this)) {
+			return;
+		}
+
+		long outerNested = budget ? EventBudget.enter() : 0L;
+		long start = System.nanoTime();
+
+		try {
+			handle0(console, handler, event);
+		} finally {
+			long time = System.nanoTime() - start;
+
+			if (profile) {
+				calls.increment();
+				totalNanos.add(time);
+				maxNanos.accumulateAndGet(time, Math::max);
+			}
+
+			if (budget) {
+				EventBudget.record(console, handler, this, time, outerNested);
+			}
+		}
+	}
+
+	private void handle0(ConsoleJS console, EventHandler handler, KubeEvent event) throws EventExit {
+		try {
+			this.handler.onEvent(event);
+		} catch (EventExit exit) {
+			if (handler.getResult() == null) {
+				console.error("Error in '" + this + "': Event returned result when it's not cancellable");
+			} else {
+				throw exit;
+			}
+		} catch (Throwable ex) {
+			var throwable = ex;
+
+			while (throwable instanceof WrappedException e) {
+				throwable = e.getWrappedException();
+			}
 
-		do {
-			try {
-				itr.handler.onEvent(event);
-			} catch (EventExit exit) {
+			if (throwable instanceof EventExit exit) {
 				if (handler.getResult() == null) {
 					console.error("Error in '" + this + "': Event returned result when it's not cancellable");
 				} else {
 					throw exit;
 				}
-			} catch (Throwable ex) {
-				var throwable = ex;
+			}
 
-				while (throwable instanceof WrappedException e) {
-					throwable = e.getWrappedException();
-				}
+			if (handler.exceptionHandler == null || (throwable = handler.exceptionHandler.handle(event, this, throwable)) != null) {
+				console.error("Error in '" + handler + "'", throwable);
 
-				if (throwable instanceof EventExit exit) {
-					if (handler.getResult() == null) {
-						console.error("Error in '" + this + "': Event returned result when it's not cancellable");
-					} else {
-						throw exit;
-					}
+				if (DevProperties.get().logEventErrorStackTrace) {
+					throwable.printStackTrace();
 				}
+			}
+		}
+	}
 
-				if (handler.exceptionHandler == null || (throwable = handler.exceptionHandler.handle(event, itr, throwable)) != null) {
-					console.error("Error in '" + handler + "'", throwable);
+	public void add(Object extraId, IEventHandler handler, String source, int line) {
+		if (chain == null) {
+			chain = new EventHandlerContainer[4];
+			chain[0] = this;
+			chainSize = 1;
+		} else if (chainSize == chain.length) {
+			chain = Arrays.copyOf(chain, chainSize * 2);
+		}
 
-					if (DevProperties.get().logEventErrorStackTrace) {
-						throwable.printStackTrace();
-					}
-				}
+		chain[chainSize] = new EventHandlerContainer(extraId, handler, source, line);
+		chainSize++;
+	}
+
+	/**
+	 * Trims the handler array once no more script handlers can be registered
+	 */
+	public void freeze() {
+		if (chain != null && chain.length != chainSize) {
+			chain = Arrays.copyOf(chain, chainSize);
+		}
+	}
+
+	/**
+	 * @return container chain without handlers registered from this source, can be a different container or null if none are left
+	 */
+	@Nullable
+	public EventHandlerContainer without(String source) {
+		var list = new ArrayList<EventHandlerContainer>();
+		forEach(c -> {
+			if (!c.source.equals(source)) {
+				list.add(c);
 			}
+		});
 
-			itr = itr.child;
+		if (list.size() == (chain == null ? 1 : chainSize)) {
+			return this;
+		} else if (list.isEmpty()) {
+			return null;
 		}
-		while (itr != null);
 
-		return EventResult.PASS;
-	}
+		for (var c : list) {
+			c.chain = null;
+			c.chainSize = 0;
+		}
 
-	public void add(Object extraId, IEventHandler handler, String source, int line) {
-		var itr = this;
+		var head = list.getFirst();
+
+		if (list.size() > 1) {
+			head.chain = list.toArray(EMPTY_ARRAY);
+			head.chainSize = head.chain.length;
+		}
 
-		while (itr.child != null) {
-			itr = itr.child;
+		return head;
+	}
+
+	public void forEach(Consumer<EventHandlerContainer> callback) {
+		if (chain == null) {
+			callback.accept(this);
+		} else {
+			for (int i = 0; i < chainSize; i++) {
+				callback.accept(chain[i]);
+			}
 		}
+	}
 
-		itr.child = new EventHandlerContainer(extraId, handler, source, line);
+	public void resetProfile() {
+		calls.reset();
+		totalNanos.reset();
+		maxNanos.set(0L);
+		overruns = 0L;
+		skippedCalls = 0L;
 	}
 
 	@Override
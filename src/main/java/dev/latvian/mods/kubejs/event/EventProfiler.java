@@ -0,0 +1,92 @@
+package dev.latvian.mods.kubejs.event;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import dev.latvian.mods.kubejs.script.ScriptType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Per-handler timings collected while {@link EventHandlerContainer#profile} is enabled, used by <code>/kubejs profile events</code> and <code>/api/profile/events</code>
+ */
+public class EventProfiler {
+	public record Entry(EventHandler event, ScriptType scriptType, EventHandlerContainer container) {
+		public JsonObject toJson() {
+			var json = new JsonObject();
+			json.addProperty("event", event.toString());
+			json.addProperty("script_type", scriptType.name);
+			json.addProperty("source", container.source);
+			json.addProperty("line", container.line);
+
+			if (container.target != null) {
+				json.addProperty("target", String.valueOf(event.target == null ? container.target : event.target.toString.transform(container.target)));
+			}
+
+			long calls = container.calls.sum();
+			long totalNanos = container.totalNanos.sum();
+			json.addProperty("calls", calls);
+			json.addProperty("total_ms", totalNanos / 1_000_000D);
+			json.addProperty("max_ms", container.maxNanos.get() / 1_000_000D);
+			json.addProperty("average_ms", calls == 0L ? 0D : totalNanos / 1_000_000D / calls);
+			json.addProperty("overruns", container.overruns);
+			json.addProperty("skipped_calls", container.skippedCalls);
+			return json;
+		}
+	}
+
+	private static void forEach(Consumer<Entry> callback) {
+		for (var group : EventGroups.ALL.get().map().values()) {
+			for (var handler : group.getHandlers().values()) {
+				if (handler.hasListeners()) {
+					for (var type : ScriptType.VALUES) {
+						handler.forEachListener(type, c -> callback.accept(new Entry(handler, type, c)));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return all handlers that have been called since profiling started, slowest first
+	 */
+	public static List<Entry> collect() {
+		var list = new ArrayList<Entry>();
+
+		forEach(e -> {
+			if (e.container.calls.sum() > 0L) {
+				list.add(e);
+			}
+		});
+
+		list.sort(Comparator.comparingLong((Entry e) -> e.container.totalNanos.sum()).reversed());
+		return list;
+	}
+
+	public static JsonArray toJson() {
+		var list = collect();
+		var json = new JsonArray(list.size());
+
+		for (var e : list) {
+			json.add(e.toJson());
+		}
+
+		return json;
+	}
+
+	public static void start() {
+		reset();
+		EventHandlerContainer.profile = true;
+	}
+
+	public static void stop() {
+		EventHandlerContainer.profile = false;
+	}
+
+	public static void reset() {
+		EventBudget.reset();
+		forEach(e -> e.container.resetProfile());
+	}
+}
@@ -18,11 +18,15 @@ import java.util.function.Supplier;
 
 public class TargetedEventHandler<E> extends EventHandler {
 	protected Map<Object, EventHandlerContainer[]> extraEventContainers;
+	// extra id -> handlers of each script type flattened in call order, including handlers without extra id
+	// resolved lazily by posting threads, volatile so they never see a partly built map
+	private volatile Map<Object, EventHandlerContainer[][]> resolvedExtraContainers;
 
 	TargetedEventHandler(EventGroup g, String n, ScriptTypePredicate st, EventTargetType<E> target, Supplier<Class<? extends KubeEvent>> e) {
 		super(g, n, st, e);
 		this.target = target;
 		this.extraEventContainers = null;
+		this.resolvedExtraContainers = null;
 	}
 
 	@Override
@@ -101,6 +105,95 @@ public class TargetedEventHandler<E> extends EventHandler {
 		}
 	}
 
+	@Override
+	@HideFromJS
+	public void removeListeners(ScriptType type, String source) {
+		super.removeListeners(type, source);
+
+		if (extraEventContainers != null) {
+			var entries = extraEventContainers.entrySet().iterator();
+
+			while (entries.hasNext()) {
+				var entry = entries.next();
+				var c = entry.getValue()[type.ordinal()];
+
+				if (c != null) {
+					entry.getValue()[type.ordinal()] = c.without(source);
+
+					if (EventHandlerContainer.isEmpty(entry.getValue())) {
+						entries.remove();
+					}
+				}
+			}
+
+			if (extraEventContainers.isEmpty()) {
+				extraEventContainers = null;
+			}
+		}
+	}
+
+	@Override
+	@HideFromJS
+	public void freeze(ScriptType type) {
+		super.freeze(type);
+
+		if (extraEventContainers != null) {
+			for (var containers : extraEventContainers.values()) {
+				if (containers[type.ordinal()] != null) {
+					containers[type.ordinal()].freeze();
+				}
+			}
+		}
+	}
+
+	@Override
+	protected synchronized void invalidateResolved() {
+		super.invalidateResolved();
+		resolvedExtraContainers = null;
+	}
+
+	@Override
+	protected synchronized void resolve() {
+		super.resolve();
+
+		if (extraEventContainers != null) {
+			resolvedExtraContainers = resolveExtra();
+		}
+	}
+
+	private Map<Object, EventHandlerContainer[][]> resolveExtra() {
+		Map<Object, EventHandlerContainer[][]> map = target.identity ? new Reference2ObjectOpenHashMap<>(extraEventContainers.size()) : new HashMap<>(extraEventContainers.size());
+
+		for (var entry : extraEventContainers.entrySet()) {
+			map.put(entry.getKey(), EventHandlerContainer.flatten(entry.getValue(), eventContainers));
+		}
+
+		return map;
+	}
+
+	@Override
+	protected EventHandlerContainer[] resolvedContainers(ScriptType type, @Nullable Object extraId) {
+		if (extraId == null || extraEventContainers == null) {
+			return super.resolvedContainers(type, null);
+		}
+
+		var map = resolvedExtraContainers;
+
+		if (map == null) {
+			synchronized (this) {
+				map = resolvedExtraContainers;
+
+				if (map == null) {
+					map = resolveExtra();
+					resolvedExtraContainers = map;
+				}
+			}
+		}
+
+		var r = map.get(extraId);
+		return r == null ? super.resolvedContainers(type, null) : r[type.ordinal()];
+	}
+
 	@Override
 	protected EventHandlerContainer[] createMap(@Nullable Object extraId) {
 		if (extraId == null) {
@@ -130,9 +223,8 @@ public class TargetedEventHandler<E> extends EventHandler {
 			for (var entry : extraEventContainers.entrySet()) {
 				var c = entry.getValue()[type.ordinal()];
 
-				while (c != null) {
-					callback.accept(c);
-					c = c.child;
+				if (c != null) {
+					c.forEach(callback);
 				}
 			}
 		}
@@ -157,17 +157,8 @@ public class FluidBuilder extends BuilderBase<FlowingFluid> {
 
 	@Override
 	public void generateAssets(KubeAssetGenerator generator) {
-		var stillTexture = generator.loadTexture(fluidType.stillTexture);
-
-		if (stillTexture != null) {
-			generator.texture(fluidType.actualStillTexture, stillTexture.tint(fluidType.tint));
-		}
-
-		var flowingTexture = generator.loadTexture(fluidType.flowingTexture);
-
-		if (flowingTexture != null) {
-			generator.texture(fluidType.actualFlowingTexture, flowingTexture.tint(fluidType.tint));
-		}
+		generator.tint(fluidType.actualStillTexture, fluidType.stillTexture, fluidType.tint);
+		generator.tint(fluidType.actualFlowingTexture, fluidType.flowingTexture, fluidType.tint);
 
 		generator.blockState(id, m -> m.simpleVariant("", id.withPath(ID.BLOCK)));
 		generator.blockModel(id, m -> {
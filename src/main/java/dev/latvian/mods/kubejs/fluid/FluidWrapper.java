@@ -48,7 +48,7 @@ public interface FluidWrapper {
 		} else if (o instanceof SizedFluidIngredient s) {
 			return s.getFluids()[0];
 		} else {
-			return ofString(registries.nbt(), o.toString());
+			return registries.fluidStackParseCache().get(o.toString(), s -> ofString(registries.nbt(), s));
 		}
 	}
 
@@ -69,7 +69,7 @@ public interface FluidWrapper {
 		} else if (o instanceof SizedFluidIngredient s) {
 			return s.ingredient();
 		} else {
-			return ingredientOfString(registries.nbt(), o.toString());
+			return registries.fluidIngredientParseCache().get(o.toString(), s -> ingredientOfString(registries.nbt(), s));
 		}
 	}
 
@@ -90,7 +90,7 @@ public interface FluidWrapper {
 		} else if (o instanceof FluidIngredient in) {
 			return new SizedFluidIngredient(in, FluidType.BUCKET_VOLUME);
 		} else {
-			return sizedIngredientOfString(registries.nbt(), o.toString());
+			return registries.sizedFluidIngredientParseCache().get(o.toString(), s -> sizedIngredientOfString(registries.nbt(), s));
 		}
 	}
 
@@ -5,17 +5,23 @@ import dev.latvian.mods.kubejs.client.ModelGenerator;
 import dev.latvian.mods.kubejs.client.MultipartBlockStateGenerator;
 import dev.latvian.mods.kubejs.client.ParticleGenerator;
 import dev.latvian.mods.kubejs.client.SoundsGenerator;
+import dev.latvian.mods.kubejs.client.TextureOperation;
 import dev.latvian.mods.kubejs.client.VariantBlockStateGenerator;
 import dev.latvian.mods.kubejs.color.KubeColor;
 import dev.latvian.mods.kubejs.event.EventResult;
 import dev.latvian.mods.kubejs.script.ConsoleJS;
 import dev.latvian.mods.kubejs.script.data.GeneratedData;
+import dev.latvian.mods.kubejs.util.ConcurrentLazy;
 import dev.latvian.mods.kubejs.util.ID;
+import dev.latvian.mods.rhino.util.HideFromJS;
+import it.unimi.dsi.fastutil.ints.Int2IntArrayMap;
 import net.minecraft.Util;
 import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public interface KubeAssetGenerator extends KubeResourceGenerator {
 	ResourceLocation GENERATED_ITEM_MODEL = ResourceLocation.withDefaultNamespace("item/generated");
@@ -61,28 +67,79 @@ public interface KubeAssetGenerator extends KubeResourceGenerator {
 		});
 	}
 
+	/**
+	 * Key of a texture operation. Generators that cache operations only run each operation once per input, no matter how many textures use its result.
+	 */
+	record TextureKey(String operation, ResourceLocation input, Object parameters) {
+	}
+
+	@HideFromJS
+	default Supplier<LoadedTexture> lazyTexture(TextureKey key, Supplier<LoadedTexture> factory) {
+		return new TextureOperation(key, factory, null, null);
+	}
+
+	@HideFromJS
+	default boolean hasTextureMetadata(ResourceLocation id) {
+		return getGenerated(id.withPath(ID.PNG_TEXTURE_MCMETA)) != null || LoadedTexture.hasMetadata(id);
+	}
+
 	default void texture(ResourceLocation target, LoadedTexture texture) {
 		if (texture.width <= 0 || texture.height <= 0) {
 			ConsoleJS.CLIENT.error("Failed to save texture " + target);
 			return;
 		}
 
-		add(new GeneratedData(target.withPath(ID.PNG_TEXTURE), texture::toBytes));
+		add(new GeneratedData(target.withPath(ID.PNG_TEXTURE), ConcurrentLazy.of(texture::toBytes)));
 
 		if (texture.mcmeta != null) {
 			add(new GeneratedData(target.withPath(ID.PNG_TEXTURE_MCMETA), () -> texture.mcmeta));
 		}
 	}
 
+	/**
+	 * Texture is only created and encoded once the pack serves it
+	 *
+	 * @param animated if texture has a .png.mcmeta file, it is read from the created texture
+	 */
+	default void texture(ResourceLocation target, Supplier<LoadedTexture> texture, boolean animated) {
+		add(GeneratedData.optional(target.withPath(ID.PNG_TEXTURE), () -> {
+			var bytes = texture instanceof TextureOperation operation ? operation.toBytes() : texture.get().toBytes();
+
+			if (bytes.length == 0) {
+				ConsoleJS.CLIENT.error("Failed to save texture " + target);
+				return null;
+			}
+
+			return bytes;
+		}));
+
+		if (animated) {
+			add(GeneratedData.optional(target.withPath(ID.PNG_TEXTURE_MCMETA), () -> texture.get().mcmeta));
+		}
+	}
+
 	default void stencil(ResourceLocation target, ResourceLocation stencil, Map<KubeColor, KubeColor> colors) {
-		var stencilTexture = loadTexture(stencil);
+		var colorMap = new Int2IntArrayMap(colors.size());
 
-		if (stencilTexture.width == 0 || stencilTexture.height == 0) {
-			ConsoleJS.CLIENT.error("Failed to load texture " + stencil);
-			return;
+		for (var entry : colors.entrySet()) {
+			colorMap.put(entry.getKey().kjs$getARGB(), entry.getValue().kjs$getARGB());
 		}
 
-		texture(target, stencilTexture.remap(colors));
+		texture(target, lazyTexture(new TextureKey("stencil", stencil, colorMap), () -> {
+			var stencilTexture = loadTexture(stencil);
+
+			if (stencilTexture.width == 0 || stencilTexture.height == 0) {
+				ConsoleJS.CLIENT.error("Failed to load texture " + stencil);
+				return LoadedTexture.EMPTY;
+			}
+
+			return stencilTexture.remap(colorMap);
+		}), hasTextureMetadata(stencil));
+	}
+
+	default void tint(ResourceLocation target, ResourceLocation input, @Nullable KubeColor tint) {
+		int argb = tint == null ? 0 : tint.kjs$getARGB();
+		texture(target, lazyTexture(new TextureKey("tint", input, argb), () -> loadTexture(input).tint(tint)), hasTextureMetadata(input));
 	}
 
 	default boolean mask(ResourceLocation target, ResourceLocation mask, ResourceLocation input) {
@@ -115,27 +115,19 @@ public interface ItemStackJS {
 
 			return ItemStack.EMPTY;
 		} else if (o instanceof CharSequence) {
-			var os = o.toString().trim();
-			var s = os;
+			return registries.itemStackParseCache().get(o.toString().trim(), s -> {
+				var count = 1;
+				var spaceIndex = s.indexOf(' ');
 
-			var cached = registries.itemStackParseCache().get(os);
-
-			if (cached != null) {
-				return cached.copy();
-			}
-
-			var count = 1;
-			var spaceIndex = s.indexOf(' ');
-
-			if (spaceIndex >= 2 && s.indexOf('x') == spaceIndex - 1) {
-				count = Integer.parseInt(s.substring(0, spaceIndex - 1));
-				s = s.substring(spaceIndex + 1);
-			}
+				if (spaceIndex >= 2 && s.indexOf('x') == spaceIndex - 1) {
+					count = Integer.parseInt(s.substring(0, spaceIndex - 1));
+					s = s.substring(spaceIndex + 1);
+				}
 
-			cached = ofString(registries.nbt(), s);
-			cached.setCount(count);
-			registries.itemStackParseCache().put(os, cached);
-			return cached.copy();
+				var stack = ofString(registries.nbt(), s);
+				stack.setCount(count);
+				return stack;
+			});
 		}
 
 		var map = MapJS.of(o);
@@ -105,12 +105,14 @@ public interface IngredientJS {
 		} else if (s.equals("*")) {
 			return IngredientWrapper.all;
 		} else {
-			try {
-				return read(registries, new StringReader(s));
-			} catch (CommandSyntaxException e) {
-				KubeJS.LOGGER.error("Failed to read ingredient from '" + s + "': " + e);
-				return Ingredient.EMPTY;
-			}
+			return registries.ingredientParseCache().get(s, s1 -> {
+				try {
+					return read(registries, new StringReader(s1));
+				} catch (CommandSyntaxException e) {
+					KubeJS.LOGGER.error("Failed to read ingredient from '" + s1 + "': " + e);
+					return Ingredient.EMPTY;
+				}
+			});
 		}
 	}
 
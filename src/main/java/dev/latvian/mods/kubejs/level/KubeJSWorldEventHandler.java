@@ -2,10 +2,13 @@ package dev.latvian.mods.kubejs.level;
 
 import dev.latvian.mods.kubejs.KubeJS;
 import dev.latvian.mods.kubejs.bindings.event.LevelEvents;
+import dev.latvian.mods.kubejs.block.entity.BlockEntityTickScheduler;
 import dev.latvian.mods.kubejs.script.ScriptType;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.chunk.LevelChunk;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.ChunkEvent;
 import net.neoforged.neoforge.event.level.ExplosionEvent;
 import net.neoforged.neoforge.event.level.LevelEvent;
 import net.neoforged.neoforge.event.tick.LevelTickEvent;
@@ -26,10 +29,31 @@ public class KubeJSWorldEventHandler {
 		}
 	}
 
+	@SubscribeEvent
+	public static void serverLevelSave(LevelEvent.Save event) {
+		if (event.getLevel() instanceof ServerLevel level) {
+			level.kjs$getBlockEntityFlushScheduler().flushAll();
+		}
+	}
+
+	@SubscribeEvent
+	public static void serverChunkUnload(ChunkEvent.Unload event) {
+		// posted before the chunk is saved, unlike BlockEntity.onChunkUnloaded
+		if (event.getLevel() instanceof ServerLevel level && event.getChunk() instanceof LevelChunk chunk) {
+			level.kjs$getBlockEntityFlushScheduler().flushChunk(chunk);
+		}
+	}
+
 	@SubscribeEvent
 	public static void serverTickEvent(LevelTickEvent.Post event) {
-		if (event.getLevel() instanceof ServerLevel level && LevelEvents.TICK.hasListeners(level.dimension())) {
-			LevelEvents.TICK.post(ScriptType.SERVER, level.dimension(), new SimpleLevelKubeEvent(level));
+		BlockEntityTickScheduler.tickAll(event.getLevel());
+
+		if (event.getLevel() instanceof ServerLevel level) {
+			if (LevelEvents.TICK.hasListeners(level.dimension())) {
+				LevelEvents.TICK.post(ScriptType.SERVER, level.dimension(), new SimpleLevelKubeEvent(level));
+			}
+
+			level.kjs$getBlockEntityFlushScheduler().tick();
 		}
 	}
 
@@ -0,0 +1,55 @@
+package dev.latvian.mods.kubejs.level;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Level block that is kept and reused by a block entity. Its six neighbors are only created once,
+ * so handlers that look at them don't allocate new blocks and positions every tick.
+ * Neighbors don't cache anything, they read the level every time, since nothing tells them when the block next to them changes.
+ */
+public class TickingLevelBlock extends CachedLevelBlock {
+	private static final class Neighbor extends CachedLevelBlock {
+		private Neighbor(Level level, BlockPos pos) {
+			super(level, pos);
+		}
+
+		@Override
+		public BlockState getBlockState() {
+			return minecraftLevel.getBlockState(getPos());
+		}
+
+		@Override
+		@Nullable
+		public BlockEntity getEntity() {
+			return minecraftLevel.getBlockEntity(getPos());
+		}
+	}
+
+	private final Neighbor[] neighbors;
+
+	public TickingLevelBlock(Level level, BlockPos pos) {
+		super(level, pos);
+		this.neighbors = new Neighbor[6];
+	}
+
+	@Override
+	public LevelBlock offset(Direction f, int d) {
+		if (d != 1) {
+			return super.offset(f, d);
+		}
+
+		var n = neighbors[f.get3DDataValue()];
+
+		if (n == null) {
+			n = new Neighbor(minecraftLevel, getPos().relative(f));
+			neighbors[f.get3DDataValue()] = n;
+		}
+
+		return n;
+	}
+}
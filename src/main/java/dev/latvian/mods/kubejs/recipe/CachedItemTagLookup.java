@@ -17,7 +17,7 @@ public class CachedItemTagLookup extends CachedTagLookup<Item> {
 
 	@Override
 	public boolean isEmpty(TagKey<Item> key) {
-		var set = values(key);
-		return set.size() - ((set.contains(Items.AIR) ? 1 : 0) + (set.contains(Items.BARRIER) ? 1 : 0)) <= 0;
+		var bits = bits(key);
+		return bits.size() - ((bits.contains(Items.AIR) ? 1 : 0) + (bits.contains(Items.BARRIER) ? 1 : 0)) <= 0;
 	}
 }
@@ -2,9 +2,12 @@ package dev.latvian.mods.kubejs.recipe;
 
 import com.mojang.datafixers.util.Either;
 import dev.latvian.mods.kubejs.KubeJS;
+import it.unimi.dsi.fastutil.objects.ObjectArraySet;
+import it.unimi.dsi.fastutil.objects.ObjectSets;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.core.Holder;
 import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
@@ -15,6 +18,7 @@ import net.minecraft.util.DependencySorter;
 import net.minecraft.world.item.Items;
 
 import javax.annotation.Nullable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -24,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -43,15 +48,57 @@ public class CachedTagLookup<T> {
 		}
 	}
 
+	// last fully resolved lookup of each registry, used to only re-resolve tags that changed since then
+	private static final Map<ResourceKey<?>, CachedTagLookup<?>> PREVIOUS = new ConcurrentHashMap<>();
+
+	/**
+	 * Forgets previous lookups, so registries of a closed world aren't kept around
+	 */
+	public static void clearPrevious() {
+		PREVIOUS.clear();
+	}
+
+	private static boolean sameEntries(List<TagLoader.EntryWithSource> a, List<TagLoader.EntryWithSource> b) {
+		if (a == b) {
+			return true;
+		} else if (a.size() != b.size()) {
+			return false;
+		}
+
+		for (int i = 0; i < a.size(); i++) {
+			var ea = a.get(i);
+			var eb = b.get(i);
+
+			if (ea.remove() != eb.remove() || ea.entry() != eb.entry() && !ea.entry().toString().equals(eb.entry().toString())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	public final Registry<T> registry;
 	public final Map<ResourceLocation, List<TagLoader.EntryWithSource>> originalMap;
-	private Map<ResourceLocation, Collection<Holder<T>>> tagMap;
-	private Map<TagKey<T>, Set<T>> keyToValue;
-	private Map<T, Set<TagKey<T>>> valueToKey;
+	// lazily built, possibly from multiple threads during parallel recipe discovery, so only assigned once fully built
+	private volatile Map<ResourceLocation, Collection<T>> resolved;
+	private volatile Map<ResourceLocation, Collection<Holder<T>>> tagMap;
+	private volatile Map<TagKey<T>, Set<T>> keyToValue;
+	private volatile ValueIndex<T> valueIndex;
+	private final Map<TagKey<T>, TagBitSet<T>> bitSets;
+	// released once keyToValue and tagMap are built, see releasePrevious()
+	@Nullable
+	private volatile CachedTagLookup<T> previous;
+
+	/**
+	 * Reverse index, tags of each value by registry raw id
+	 */
+	private record ValueIndex<T>(TagKey<T>[] keys, int[][] tags) {
+	}
 
 	public CachedTagLookup(Registry<T> registry, Map<ResourceLocation, List<TagLoader.EntryWithSource>> originalMap) {
 		this.registry = registry;
 		this.originalMap = originalMap;
+		this.bitSets = new ConcurrentHashMap<>();
 	}
 
 	private Either<Collection<TagLoader.EntryWithSource>, Collection<T>> build(TagEntry.Lookup<T> lookup, List<TagLoader.EntryWithSource> entries) {
@@ -68,7 +115,13 @@ public class CachedTagLookup<T> {
 	}
 
 	public Map<ResourceLocation, Collection<T>> build(Map<ResourceLocation, List<TagLoader.EntryWithSource>> builders) {
-		var map = new HashMap<ResourceLocation, Collection<T>>();
+		return build(builders, new HashMap<>());
+	}
+
+	/**
+	 * Resolves builders in dependency order into map. Tags that are already in map can be referenced, but are not resolved again
+	 */
+	private Map<ResourceLocation, Collection<T>> build(Map<ResourceLocation, List<TagLoader.EntryWithSource>> builders, Map<ResourceLocation, Collection<T>> map) {
 		var lookup = new TagEntry.Lookup<T>() {
 			@Override
 			@Nullable
@@ -89,43 +142,206 @@ public class CachedTagLookup<T> {
 		return map;
 	}
 
+	/**
+	 * Resolves all tags. If this registry was resolved before, only tags whose entries changed since then, and tags that depend on them, are resolved again
+	 */
+	private Map<ResourceLocation, Collection<T>> resolve() {
+		var map = resolved;
+
+		if (map != null) {
+			return map;
+		}
+
+		var prev = PREVIOUS.get(registry.key()) instanceof CachedTagLookup<?> p && p != this && p.registry == registry && p.resolved != null ? (CachedTagLookup<T>) p : null;
+
+		if (prev == null) {
+			map = build(originalMap);
+		} else {
+			var dirty = new HashSet<ResourceLocation>();
+
+			for (var entry : originalMap.entrySet()) {
+				var old = prev.originalMap.get(entry.getKey());
+
+				if (old == null || !prev.resolved.containsKey(entry.getKey()) || !sameEntries(old, entry.getValue())) {
+					dirty.add(entry.getKey());
+				}
+			}
+
+			for (var id : prev.originalMap.keySet()) {
+				if (!originalMap.containsKey(id)) {
+					dirty.add(id);
+				}
+			}
+
+			if (dirty.isEmpty()) {
+				map = prev.resolved;
+			} else {
+				var dependents = new HashMap<ResourceLocation, List<ResourceLocation>>();
+
+				for (var entry : originalMap.entrySet()) {
+					var id = entry.getKey();
+					Consumer<ResourceLocation> visitor = dep -> dependents.computeIfAbsent(dep, k -> new ArrayList<>(1)).add(id);
+
+					for (var e : entry.getValue()) {
+						e.entry().visitRequiredDependencies(visitor);
+						e.entry().visitOptionalDependencies(visitor);
+					}
+				}
+
+				var queue = new ArrayDeque<>(dirty);
+
+				while (!queue.isEmpty()) {
+					var d = dependents.get(queue.poll());
+
+					if (d != null) {
+						for (var id : d) {
+							if (dirty.add(id)) {
+								queue.add(id);
+							}
+						}
+					}
+				}
+
+				map = new HashMap<>(prev.resolved);
+				var builders = new HashMap<ResourceLocation, List<TagLoader.EntryWithSource>>();
+
+				for (var id : dirty) {
+					map.remove(id);
+
+					var entries = originalMap.get(id);
+
+					if (entries != null) {
+						builders.put(id, entries);
+					}
+				}
+
+				build(builders, map);
+			}
+
+			// only keep one previous lookup around
+			prev.previous = null;
+			previous = prev;
+		}
+
+		resolved = map;
+		PREVIOUS.put(registry.key(), this);
+		return map;
+	}
+
 	public Map<TagKey<T>, Set<T>> keyToValue() {
-		if (keyToValue == null) {
-			var map = build(originalMap);
-			keyToValue = new Reference2ObjectOpenHashMap<>(map.size());
+		var k2v = keyToValue;
+
+		if (k2v == null) {
+			var map = resolve();
+			var prev = previous;
+			var prevK2V = prev == null ? null : prev.keyToValue;
+			k2v = new Reference2ObjectOpenHashMap<>(map.size());
 
 			for (var entry : map.entrySet()) {
 				var k = TagKey.create(registry.key(), entry.getKey());
-				keyToValue.put(k, Set.copyOf(entry.getValue()));
+				var prevSet = prevK2V == null || prev.resolved.get(entry.getKey()) != entry.getValue() ? null : prevK2V.get(k);
+				k2v.put(k, prevSet != null ? prevSet : Set.copyOf(entry.getValue()));
 			}
-		}
 
-		return keyToValue;
+			keyToValue = k2v;
+			releasePrevious();
+		}
 
+		return k2v;
 	}
 
 	public Set<T> values(TagKey<T> key) {
 		return keyToValue().getOrDefault(key, Set.of());
 	}
 
+	/**
+	 * @return values of this tag as a bitset of registry raw ids
+	 */
+	public TagBitSet<T> bits(TagKey<T> key) {
+		var bits = bitSets.get(key);
+
+		if (bits == null) {
+			var set = values(key);
+			var prev = previous;
+			var prevBits = prev == null || prev.keyToValue == null || prev.keyToValue.get(key) != set ? null : prev.bitSets.get(key);
+			bits = prevBits != null ? prevBits : TagBitSet.of(registry, set);
+			bitSets.put(key, bits);
+		}
+
+		return bits;
+	}
+
+	public boolean contains(TagKey<T> key, T value) {
+		return bits(key).contains(value);
+	}
+
 	public boolean isEmpty(TagKey<T> key) {
-		var set = values(key);
+		var bits = bits(key);
 		// noinspection RedundantCast
-		return set.size() - ((ResourceKey) registry.key() == Registries.ITEM ? ((set.contains(Items.AIR) ? 1 : 0) + (set.contains(Items.BARRIER) ? 1 : 0)) : 0) <= 0;
+		return bits.size() - ((ResourceKey) registry.key() == Registries.ITEM ? ((bits.contains(BuiltInRegistries.ITEM.getId(Items.AIR)) ? 1 : 0) + (bits.contains(BuiltInRegistries.ITEM.getId(Items.BARRIER)) ? 1 : 0)) : 0) <= 0;
 	}
 
-	public Set<TagKey<T>> keys(T value) {
-		if (valueToKey == null) {
-			valueToKey = new Reference2ObjectOpenHashMap<>();
+	private ValueIndex<T> valueIndex() {
+		var index = valueIndex;
+
+		if (index == null) {
+			var k2v = keyToValue();
+			var keys = (TagKey<T>[]) new TagKey[k2v.size()];
+			var counts = new int[registry.size()];
+			int i = 0;
+
+			for (var entry : k2v.entrySet()) {
+				keys[i++] = entry.getKey();
 
-			for (var entry : keyToValue().entrySet()) {
 				for (var v : entry.getValue()) {
-					valueToKey.computeIfAbsent(v, k -> new HashSet<>()).add(entry.getKey());
+					int id = registry.getId(v);
+
+					if (id >= 0 && id < counts.length) {
+						counts[id]++;
+					}
 				}
 			}
+
+			var tags = new int[counts.length][];
+
+			for (i = 0; i < keys.length; i++) {
+				for (var v : k2v.get(keys[i])) {
+					int id = registry.getId(v);
+
+					if (id >= 0 && id < counts.length) {
+						if (tags[id] == null) {
+							tags[id] = new int[counts[id]];
+							counts[id] = 0;
+						}
+
+						tags[id][counts[id]++] = i;
+					}
+				}
+			}
+
+			index = new ValueIndex<>(keys, tags);
+			valueIndex = index;
+		}
+
+		return index;
+	}
+
+	public Set<TagKey<T>> keys(T value) {
+		var index = valueIndex();
+		int id = registry.getId(value);
+		var tags = id >= 0 && id < index.tags.length ? index.tags[id] : null;
+
+		if (tags == null) {
+			return Set.of();
+		}
+
+		var keys = (TagKey<T>[]) new TagKey[tags.length];
+
+		for (int i = 0; i < tags.length; i++) {
+			keys[i] = index.keys[tags[i]];
 		}
 
-		return valueToKey.getOrDefault(value, Set.of());
+		return ObjectSets.unmodifiable(new ObjectArraySet<>(keys));
 	}
 
 	public Map<TagKey<T>, List<Holder<T>>> bindingMap() {
@@ -146,23 +362,63 @@ public class CachedTagLookup<T> {
 	}
 
 	public Map<ResourceLocation, Collection<Holder<T>>> tagMap() {
-		if (tagMap == null) {
-			tagMap = new HashMap<>();
+		var map = tagMap;
+
+		if (map == null) {
+			var m = new HashMap<ResourceLocation, Collection<Holder<T>>>();
 			var k2v = keyToValue();
+			var prev = previous;
+			var prevTagMap = prev == null ? null : prev.tagMap;
 
 			for (var entry : k2v.entrySet()) {
+				var id = entry.getKey().location();
+				var prevList = prevTagMap == null || prev.keyToValue.get(entry.getKey()) != entry.getValue() ? null : prevTagMap.get(id);
+
+				if (prevList != null) {
+					m.put(id, prevList);
+					continue;
+				}
+
 				var list = new ArrayList<Holder<T>>(entry.getValue().size());
 
 				for (var value : entry.getValue()) {
 					list.add(registry.wrapAsHolder(value));
 				}
 
-				tagMap.put(entry.getKey().location(), list);
+				m.put(id, list);
 			}
 
-			tagMap = Map.copyOf(tagMap);
+			map = Map.copyOf(m);
+			tagMap = map;
+			releasePrevious();
+		}
+
+		return map;
+	}
+
+	/**
+	 * Once keyToValue and tagMap are built, the previous lookup is only needed for bitsets of unchanged tags, so those are taken over and the rest of it is let go
+	 */
+	private void releasePrevious() {
+		var prev = previous;
+		var k2v = keyToValue;
+
+		if (prev == null || k2v == null || tagMap == null) {
+			return;
+		}
+
+		var prevK2V = prev.keyToValue;
+
+		if (prevK2V != null) {
+			for (var entry : prev.bitSets.entrySet()) {
+				var set = k2v.get(entry.getKey());
+
+				if (set != null && set == prevK2V.get(entry.getKey())) {
+					bitSets.putIfAbsent(entry.getKey(), entry.getValue());
+				}
+			}
 		}
 
-		return tagMap;
+		previous = null;
 	}
 }
@@ -25,6 +25,7 @@ import dev.latvian.mods.kubejs.script.SourceLine;
 import dev.latvian.mods.kubejs.util.Cast;
 import dev.latvian.mods.kubejs.util.KubeResourceLocation;
 import dev.latvian.mods.kubejs.util.SlotFilter;
+import dev.latvian.mods.kubejs.util.TinyMap;
 import dev.latvian.mods.kubejs.util.UtilsJS;
 import dev.latvian.mods.rhino.Context;
 import dev.latvian.mods.rhino.Scriptable;
@@ -42,8 +43,11 @@ import org.apache.commons.lang3.mutable.MutableObject;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public class KubeRecipe implements RecipeLikeKJS, CustomJavaToJsWrapper {
 	public static final String CHANGED_MARKER = "_kubejs_changed_marker";
@@ -110,6 +114,7 @@ public class KubeRecipe implements RecipeLikeKJS, CustomJavaToJsWrapper {
 			throw new MissingComponentException(key.name, key, valueMap.keySet()).source(sourceLine);
 		}
 
+		invalidateIfEditable(v.value);
 		return Cast.to(v.value);
 	}
 
@@ -132,6 +137,7 @@ public class KubeRecipe implements RecipeLikeKJS, CustomJavaToJsWrapper {
 		for (var h : valueMap.holders) {
 			for (var name : h.key.names) {
 				if (name.equals(key)) {
+					invalidateIfEditable(h.value);
 					return h.value;
 				}
 			}
@@ -162,7 +168,7 @@ public class KubeRecipe implements RecipeLikeKJS, CustomJavaToJsWrapper {
 		}
 
 		if (!type.schemaType.schema.keys.isEmpty()) {
-			valueMap = new RecipeComponentValueMap(type.schemaType.schema.keys);
+			valueMap = new RecipeComponentValueMap(this, type.schemaType.schema.keys);
 
 			if (save) {
 				for (var v : valueMap.holders) {
@@ -197,6 +203,28 @@ public class KubeRecipe implements RecipeLikeKJS, CustomJavaToJsWrapper {
 
 	public final void save() {
 		changed = true;
+		invalidateMatchIndex();
+	}
+
+	/**
+	 * Makes the event index this recipe again before its next lookup, for changes that may not go through {@link #save()},
+	 * such as values handed out to scripts that can be edited in place
+	 */
+	@HideFromJS
+	public final void invalidateMatchIndex() {
+		if (!newRecipe && type != null) {
+			type.event.invalidateMatchIndex(this);
+		}
+	}
+
+	/**
+	 * Lists and maps can be changed in place by whoever reads them, so the match index can't trust them anymore.
+	 * Items, fluids and ingredients are safe to read, what they match can't change without setting a new value.
+	 */
+	private void invalidateIfEditable(@Nullable Object value) {
+		if (value instanceof Collection<?> || value instanceof Map<?, ?> || value instanceof TinyMap<?, ?> || value != null && value.getClass().isArray()) {
+			invalidateMatchIndex();
+		}
 	}
 
 	public KubeRecipe id(KubeResourceLocation id) {
@@ -377,6 +405,23 @@ public class KubeRecipe implements RecipeLikeKJS, CustomJavaToJsWrapper {
 		return replaced;
 	}
 
+	/**
+	 * Collects every item and fluid that {@link #hasInput} or {@link #hasOutput} could match, see {@link RecipeMatchIndex}.
+	 * Override this if you override either of those, otherwise this recipe will always be tested.
+	 *
+	 * @return false if the matched items and fluids can't be determined
+	 */
+	@HideFromJS
+	public boolean collectMatchKeys(Set<Object> keys, boolean output) {
+		for (var v : output ? outputValues() : inputValues()) {
+			if (!v.collectMatchKeys(keys)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		if (id == null && json == null) {
@@ -0,0 +1,233 @@
+package dev.latvian.mods.kubejs.recipe;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.internal.Streams;
+import com.google.gson.stream.JsonWriter;
+import dev.latvian.mods.kubejs.CommonProperties;
+import dev.latvian.mods.kubejs.KubeJS;
+import dev.latvian.mods.kubejs.KubeJSPaths;
+import dev.latvian.mods.kubejs.script.ConsoleJS;
+import dev.latvian.mods.kubejs.script.ScriptManager;
+import dev.latvian.mods.kubejs.util.JsonUtils;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.fml.ModList;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-addressed cache of the final recipe map produced by {@link RecipesKubeEvent#applyChanges(Map)}.
+ * <p>
+ * The key covers everything the result depends on - datapack recipe json, loaded tags, recipe schemas, startup and server scripts, mods and recipe related properties -
+ * so when nothing changed the cached map can be used as-is, skipping both recipe discovery and the recipe event.
+ */
+public class RecipeCache {
+	public static final Path DIRECTORY = KubeJSPaths.CACHE.resolve("recipes");
+
+	public record Result(int added, int removed, int modified) {
+	}
+
+	public final String key;
+	public final Path path;
+
+	private RecipeCache(String key) {
+		this.key = key;
+		this.path = DIRECTORY.resolve(key + ".json.gz");
+	}
+
+	@Nullable
+	public static RecipeCache create(RecipesKubeEvent event, Map<ResourceLocation, JsonElement> datapackRecipeMap) {
+		try {
+			var digest = MessageDigest.getInstance("SHA-256");
+
+			try (var out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+				writeKey(out, event, datapackRecipeMap);
+			}
+
+			return new RecipeCache(HexFormat.of().formatHex(digest.digest()));
+		} catch (Exception ex) {
+			ConsoleJS.SERVER.warn("Failed to compute recipe cache key", ex);
+			return null;
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		var bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static void writeKey(DataOutputStream out, RecipesKubeEvent event, Map<ResourceLocation, JsonElement> datapackRecipeMap) throws IOException {
+		writeString(out, KubeJS.VERSION);
+
+		var properties = CommonProperties.get();
+		out.writeBoolean(properties.serverOnly);
+		out.writeBoolean(properties.matchJsonRecipes);
+		out.writeBoolean(properties.ignoreCustomUniqueRecipeIds);
+
+		var mods = new ArrayList<>(ModList.get().getMods());
+		mods.sort(Comparator.comparing(m -> m.getModId()));
+		out.writeInt(mods.size());
+
+		for (var mod : mods) {
+			writeString(out, mod.getModId());
+			writeString(out, mod.getVersion().toString());
+		}
+
+		writeScripts(out, KubeJS.getStartupScriptManager());
+		writeScripts(out, event.scriptManager);
+
+		var namespaces = new TreeMap<>(event.recipeSchemaStorage.namespaces);
+		out.writeInt(namespaces.size());
+
+		for (var namespace : namespaces.values()) {
+			var types = new TreeMap<>(namespace);
+			writeString(out, namespace.name);
+			out.writeInt(types.size());
+
+			for (var type : types.values()) {
+				writeString(out, type.id.toString());
+				writeString(out, type.schema.recipeFactory.id().toString());
+				writeString(out, type.schema.keys.toString());
+			}
+		}
+
+		var tagLookups = new TreeMap<String, CachedTagLookup<?>>();
+
+		for (var entry : event.registries.cachedRegistryTags.values()) {
+			if (entry.lookup() != null) {
+				tagLookups.put(entry.key().location().toString(), entry.lookup());
+			}
+		}
+
+		out.writeInt(tagLookups.size());
+
+		for (var entry : tagLookups.entrySet()) {
+			var tags = new TreeMap<>(entry.getValue().originalMap);
+			writeString(out, entry.getKey());
+			out.writeInt(tags.size());
+
+			for (var tag : tags.entrySet()) {
+				writeString(out, tag.getKey().toString());
+				out.writeInt(tag.getValue().size());
+
+				for (var e : tag.getValue()) {
+					writeString(out, e.toString());
+				}
+			}
+		}
+
+		var recipes = new TreeMap<>(datapackRecipeMap);
+		out.writeInt(recipes.size());
+
+		for (var entry : recipes.entrySet()) {
+			writeString(out, entry.getKey().toString());
+			writeString(out, JsonUtils.toString(entry.getValue()));
+		}
+	}
+
+	private static void writeScripts(DataOutputStream out, @Nullable ScriptManager manager) throws IOException {
+		if (manager == null) {
+			out.writeInt(-1);
+			return;
+		}
+
+		out.writeInt(manager.packs.size());
+
+		for (var pack : manager.packs.values()) {
+			writeString(out, pack.info.namespace);
+			out.writeInt(pack.scripts.size());
+
+			for (var script : pack.scripts) {
+				writeString(out, script.info.location);
+				out.write(script.sourceHash);
+			}
+		}
+	}
+
+	/**
+	 * Replaces the contents of the map with cached recipes if there are any for this key.
+	 *
+	 * @return the counts of the cached recipe event, or null if there was nothing cached
+	 */
+	@Nullable
+	public Result load(Map<ResourceLocation, JsonElement> map) {
+		if (Files.notExists(path)) {
+			return null;
+		}
+
+		try (var reader = new InputStreamReader(new GZIPInputStream(Files.newInputStream(path)), StandardCharsets.UTF_8)) {
+			var json = JsonParser.parseReader(reader).getAsJsonObject();
+			var recipes = json.getAsJsonObject("recipes");
+			var result = new Result(json.get("added").getAsInt(), json.get("removed").getAsInt(), json.get("modified").getAsInt());
+
+			map.clear();
+
+			for (var entry : recipes.entrySet()) {
+				map.put(ResourceLocation.parse(entry.getKey()), entry.getValue());
+			}
+
+			return result;
+		} catch (Exception ex) {
+			ConsoleJS.SERVER.warn("Failed to read recipe cache " + path.getFileName(), ex);
+			return null;
+		}
+	}
+
+	public void save(Map<ResourceLocation, JsonElement> map, Result result) {
+		var json = new JsonObject();
+		json.addProperty("added", result.added());
+		json.addProperty("removed", result.removed());
+		json.addProperty("modified", result.modified());
+
+		var recipes = new JsonObject();
+
+		for (var entry : map.entrySet()) {
+			recipes.add(entry.getKey().toString(), entry.getValue());
+		}
+
+		json.add("recipes", recipes);
+
+		try {
+			Files.createDirectories(DIRECTORY);
+
+			// only the latest result is kept, anything else is stale
+			List<Path> stale;
+
+			try (var files = Files.list(DIRECTORY)) {
+				stale = files.filter(p -> !p.equals(path)).toList();
+			}
+
+			for (var p : stale) {
+				Files.deleteIfExists(p);
+			}
+
+			try (var writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(path)), StandardCharsets.UTF_8)) {
+				var jsonWriter = new JsonWriter(writer);
+				jsonWriter.setSerializeNulls(true);
+				Streams.write(json, jsonWriter);
+			}
+		} catch (Exception ex) {
+			ConsoleJS.SERVER.warn("Failed to write recipe cache " + path.getFileName(), ex);
+		}
+	}
+}
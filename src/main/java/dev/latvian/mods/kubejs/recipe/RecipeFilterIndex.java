@@ -0,0 +1,124 @@
+package dev.latvian.mods.kubejs.recipe;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Buckets of original recipes by mod (id namespace), recipe type and group, used to plan {@link dev.latvian.mods.kubejs.recipe.filter.RecipeFilter} queries.
+ * <p>
+ * Mod and group can change when a recipe is {@link KubeRecipe#save() saved}, so those recipes are re-bucketed the next time this index is queried.
+ * Lookups return read-only views of the buckets, buckets that change afterwards are replaced so views already handed out stay the same.
+ */
+public class RecipeFilterIndex {
+	private record Keys(String mod, String group) {
+	}
+
+	private final Map<String, Set<KubeRecipe>> byMod;
+	private final Map<ResourceLocation, Set<KubeRecipe>> byType;
+	private final Map<String, Set<KubeRecipe>> byGroup;
+	private final Map<KubeRecipe, Keys> recipeKeys;
+	private final Set<KubeRecipe> dirty;
+
+	public RecipeFilterIndex() {
+		this.byMod = new HashMap<>();
+		this.byType = new HashMap<>();
+		this.byGroup = new HashMap<>();
+		this.recipeKeys = new Reference2ObjectOpenHashMap<>();
+		this.dirty = new ReferenceOpenHashSet<>();
+	}
+
+	public synchronized void build(Collection<KubeRecipe> recipes) {
+		byMod.clear();
+		byType.clear();
+		byGroup.clear();
+		recipeKeys.clear();
+		dirty.clear();
+
+		for (var r : recipes) {
+			add(r, null);
+			byType.computeIfAbsent(r.getType(), k -> new ReferenceLinkedOpenHashSet<>()).add(r);
+		}
+	}
+
+	/**
+	 * @param copied buckets already replaced during this refresh, or null if buckets can be changed in place
+	 */
+	private static <K> Set<KubeRecipe> bucket(Map<K, Set<KubeRecipe>> map, K key, @Nullable Set<Set<KubeRecipe>> copied) {
+		var set = map.get(key);
+
+		if (set == null || copied != null && !copied.contains(set)) {
+			set = set == null ? new ReferenceLinkedOpenHashSet<>() : new ReferenceLinkedOpenHashSet<>(set);
+			map.put(key, set);
+
+			if (copied != null) {
+				copied.add(set);
+			}
+		}
+
+		return set;
+	}
+
+	private void add(KubeRecipe r, @Nullable Set<Set<KubeRecipe>> copied) {
+		var keys = new Keys(r.getOrCreateId().getNamespace(), r.kjs$getGroup());
+		recipeKeys.put(r, keys);
+		bucket(byMod, keys.mod, copied).add(r);
+		bucket(byGroup, keys.group, copied).add(r);
+	}
+
+	private void remove(KubeRecipe r, Set<Set<KubeRecipe>> copied) {
+		var keys = recipeKeys.remove(r);
+
+		if (keys != null) {
+			bucket(byMod, keys.mod, copied).remove(r);
+			bucket(byGroup, keys.group, copied).remove(r);
+		}
+	}
+
+	public synchronized void invalidate(KubeRecipe r) {
+		if (recipeKeys.containsKey(r)) {
+			dirty.add(r);
+		}
+	}
+
+	private void refresh() {
+		if (!dirty.isEmpty()) {
+			// buckets are handed out as views that may still be iterated, so changed buckets are replaced instead of modified
+			var copied = new ReferenceOpenHashSet<Set<KubeRecipe>>();
+
+			for (var r : dirty) {
+				remove(r, copied);
+				add(r, copied);
+			}
+
+			dirty.clear();
+		}
+	}
+
+	private static Set<KubeRecipe> view(Map<?, Set<KubeRecipe>> map, Object key) {
+		var set = map.get(key);
+		return set == null || set.isEmpty() ? Set.of() : Collections.unmodifiableSet(set);
+	}
+
+	public synchronized Set<KubeRecipe> findMod(String mod) {
+		refresh();
+		return view(byMod, mod);
+	}
+
+	public synchronized Set<KubeRecipe> findType(ResourceLocation type) {
+		return view(byType, type);
+	}
+
+	public synchronized Set<KubeRecipe> findGroup(String group) {
+		refresh();
+		return view(byGroup, group);
+	}
+}
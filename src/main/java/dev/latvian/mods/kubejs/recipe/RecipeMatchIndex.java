@@ -0,0 +1,270 @@
+package dev.latvian.mods.kubejs.recipe;
+
+import dev.latvian.mods.kubejs.recipe.component.RecipeComponent;
+import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
+import dev.latvian.mods.kubejs.util.RegistryAccessContainer;
+import dev.latvian.mods.rhino.Context;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.neoforged.neoforge.common.crafting.SizedIngredient;
+import net.neoforged.neoforge.fluids.FluidStack;
+import net.neoforged.neoforge.fluids.crafting.FluidIngredient;
+import net.neoforged.neoforge.fluids.crafting.TagFluidIngredient;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index of items, fluids and tags to the recipes whose inputs (or outputs) could match them.
+ * Queries are expanded to every tag containing the queried items, so tag membership always comes from the cached tag lookups that matching uses.
+ * <p>
+ * Recipes that can't tell what they match are kept as always-tested candidates,
+ * so the index only ever narrows down which recipes {@link KubeRecipe#hasInput} / {@link KubeRecipe#hasOutput} are called on.
+ */
+public class RecipeMatchIndex {
+	private enum Support {
+		NEVER_MATCHES,
+		INDEXED,
+		UNINDEXED
+	}
+
+	private static final ClassValue<Support> COMPONENT_SUPPORT = new ClassValue<>() {
+		@Override
+		protected Support computeValue(Class<?> type) {
+			var matches = declaringClass(type, "matches", Context.class, KubeRecipe.class, Object.class, ReplacementMatchInfo.class);
+			var replace = declaringClass(type, "replace", Context.class, KubeRecipe.class, Object.class, ReplacementMatchInfo.class, Object.class);
+
+			if (matches == RecipeComponent.class && replace == RecipeComponent.class) {
+				return Support.NEVER_MATCHES;
+			}
+
+			var collect = declaringClass(type, "collectMatchKeys", Object.class, Set.class);
+			return matches.isAssignableFrom(collect) && replace.isAssignableFrom(collect) ? Support.INDEXED : Support.UNINDEXED;
+		}
+	};
+
+	private static final ClassValue<Boolean> INPUT_RECIPE_SUPPORT = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			var collect = declaringClass(type, "collectMatchKeys", Set.class, boolean.class);
+			return declaringClass(type, "hasInput", Context.class, ReplacementMatchInfo.class).isAssignableFrom(collect)
+				&& declaringClass(type, "replaceInput", Context.class, ReplacementMatchInfo.class, Object.class).isAssignableFrom(collect);
+		}
+	};
+
+	private static final ClassValue<Boolean> OUTPUT_RECIPE_SUPPORT = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			var collect = declaringClass(type, "collectMatchKeys", Set.class, boolean.class);
+			return declaringClass(type, "hasOutput", Context.class, ReplacementMatchInfo.class).isAssignableFrom(collect)
+				&& declaringClass(type, "replaceOutput", Context.class, ReplacementMatchInfo.class, Object.class).isAssignableFrom(collect);
+		}
+	};
+
+	private static Class<?> declaringClass(Class<?> type, String name, Class<?>... params) {
+		try {
+			return type.getMethod(name, params).getDeclaringClass();
+		} catch (NoSuchMethodException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * Collects the match keys of a single component value, taking into account components that never match anything
+	 * and components that override {@link RecipeComponent#matches} without providing their keys.
+	 */
+	public static <T> boolean collect(RecipeComponent<T> component, T value, Set<Object> keys) {
+		return switch (COMPONENT_SUPPORT.get(component.getClass())) {
+			case NEVER_MATCHES -> true;
+			case INDEXED -> component.collectMatchKeys(value, keys);
+			case UNINDEXED -> false;
+		};
+	}
+
+	/**
+	 * Tags are kept as tag keys rather than their items, items bound to tags are stale during reload and resolved on query side from {@link RegistryAccessContainer#cachedItemTags} instead
+	 */
+	public static void collectIngredient(Ingredient ingredient, Set<Object> keys) {
+		for (var value : ingredient.getValues()) {
+			if (value instanceof Ingredient.TagValue tag) {
+				keys.add(tag.tag());
+			} else {
+				for (var stack : value.getItems()) {
+					if (!stack.isEmpty()) {
+						keys.add(stack.getItem());
+					}
+				}
+			}
+		}
+	}
+
+	public static void collectFluidIngredient(FluidIngredient ingredient, Set<Object> keys) {
+		if (ingredient instanceof TagFluidIngredient tag) {
+			keys.add(tag.tag());
+		} else {
+			for (var stack : ingredient.getStacks()) {
+				keys.add(stack.getFluid());
+			}
+		}
+	}
+
+	private static void queryItem(Item item, CachedTagLookup<Item> tags, Set<Object> keys) {
+		if (keys.add(item)) {
+			keys.addAll(tags.keys(item));
+		}
+	}
+
+	private static void queryIngredient(Ingredient ingredient, CachedTagLookup<Item> tags, Set<Object> keys) {
+		for (var value : ingredient.getValues()) {
+			if (value instanceof Ingredient.TagValue tag) {
+				keys.add(tag.tag());
+
+				for (var item : tags.values(tag.tag())) {
+					queryItem(item, tags, keys);
+				}
+			} else {
+				for (var stack : value.getItems()) {
+					if (!stack.isEmpty()) {
+						queryItem(stack.getItem(), tags, keys);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the items, fluids and tags the given match could possibly match, or null if they can't be determined
+	 */
+	@Nullable
+	public static Set<Object> keysOf(ReplacementMatchInfo match, RegistryAccessContainer registries) {
+		var itemTags = registries.cachedItemTags;
+		var fluidTags = registries.cachedFluidTags;
+		var keys = new ReferenceOpenHashSet<>();
+
+		switch (match.match()) {
+			case ItemStack stack when !stack.isEmpty() && itemTags != null -> queryItem(stack.getItem(), itemTags, keys);
+			case SizedIngredient sized when !sized.ingredient().isCustom() && itemTags != null -> queryIngredient(sized.ingredient(), itemTags, keys);
+			case Ingredient ingredient when !ingredient.isCustom() && itemTags != null -> queryIngredient(ingredient, itemTags, keys);
+			case FluidStack stack when !stack.isEmpty() && fluidTags != null -> {
+				keys.add(stack.getFluid());
+				keys.addAll(fluidTags.keys(stack.getFluid()));
+			}
+			default -> {
+				return null;
+			}
+		}
+
+		return keys.isEmpty() ? null : keys;
+	}
+
+	private final Collection<KubeRecipe> allRecipes;
+	private final boolean output;
+	private final RegistryAccessContainer registries;
+	private Map<Object, Set<KubeRecipe>> recipes;
+	private Map<KubeRecipe, Object[]> recipeKeys;
+	private Set<KubeRecipe> untracked;
+	private final Set<KubeRecipe> dirty;
+
+	public RecipeMatchIndex(Collection<KubeRecipe> allRecipes, boolean output, RegistryAccessContainer registries) {
+		this.allRecipes = allRecipes;
+		this.output = output;
+		this.registries = registries;
+		this.dirty = new ReferenceOpenHashSet<>();
+	}
+
+	private void build() {
+		recipes = new Reference2ObjectOpenHashMap<>();
+		recipeKeys = new Reference2ObjectOpenHashMap<>(allRecipes.size());
+		untracked = new ReferenceLinkedOpenHashSet<>();
+
+		var keys = new ReferenceOpenHashSet<>();
+
+		for (var r : allRecipes) {
+			add(r, keys);
+		}
+	}
+
+	private void add(KubeRecipe r, Set<Object> keys) {
+		keys.clear();
+
+		if ((output ? OUTPUT_RECIPE_SUPPORT : INPUT_RECIPE_SUPPORT).get(r.getClass()) && r.collectMatchKeys(keys, output)) {
+			var arr = keys.toArray();
+			recipeKeys.put(r, arr);
+
+			for (var key : arr) {
+				recipes.computeIfAbsent(key, k -> new ReferenceLinkedOpenHashSet<>()).add(r);
+			}
+		} else {
+			untracked.add(r);
+		}
+	}
+
+	private void remove(KubeRecipe r) {
+		var arr = recipeKeys.remove(r);
+
+		if (arr != null) {
+			for (var key : arr) {
+				var set = recipes.get(key);
+
+				if (set != null) {
+					set.remove(r);
+				}
+			}
+		} else {
+			untracked.remove(r);
+		}
+	}
+
+	/**
+	 * Marks a recipe to be re-indexed the next time this index is queried, called whenever the recipe is {@link KubeRecipe#save() saved}.
+	 */
+	public synchronized void invalidate(KubeRecipe r) {
+		if (recipeKeys != null && recipeKeys.containsKey(r)) {
+			dirty.add(r);
+		}
+	}
+
+	/**
+	 * @return all recipes that could match, in no particular order, or null if the match can't be looked up and every recipe has to be tested
+	 */
+	@Nullable
+	public synchronized Set<KubeRecipe> find(ReplacementMatchInfo match) {
+		var keys = keysOf(match, registries);
+
+		if (keys == null) {
+			return null;
+		}
+
+		if (recipes == null) {
+			build();
+		} else if (!dirty.isEmpty()) {
+			var tempKeys = new ReferenceOpenHashSet<>();
+
+			for (var r : dirty) {
+				remove(r);
+				add(r, tempKeys);
+			}
+
+			dirty.clear();
+		}
+
+		var result = new ReferenceLinkedOpenHashSet<KubeRecipe>();
+
+		for (var key : keys) {
+			var set = recipes.get(key);
+
+			if (set != null) {
+				result.addAll(set);
+			}
+		}
+
+		result.addAll(untracked);
+		return result;
+	}
+}
@@ -0,0 +1,129 @@
+package dev.latvian.mods.kubejs.recipe;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import dev.latvian.mods.kubejs.script.SourceLine;
+import dev.latvian.mods.rhino.Context;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects timings of a single recipe reload - phases, condition evaluation, deserialization and serialization per recipe type, and each recipe event call per script line.
+ * <p>
+ * Recipes are discovered and serialized in parallel, so everything is thread-safe. When disabled, every method returns immediately.
+ */
+public class RecipeReloadProfiler {
+	public static final RecipeReloadProfiler DISABLED = new RecipeReloadProfiler(false);
+
+	private static class Timing {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+
+		private void add(long start) {
+			count.increment();
+			nanos.add(System.nanoTime() - start);
+		}
+
+		private JsonObject toJson(String key, String keyName) {
+			var json = new JsonObject();
+			json.addProperty(keyName, key);
+			json.addProperty("count", count.sum());
+			json.addProperty("ms", nanos.sum() / 1_000_000D);
+			return json;
+		}
+	}
+
+	private record ScriptCall(SourceLine line, String method) {
+	}
+
+	public final boolean enabled;
+	private final Map<String, Timing> phases;
+	private final Timing conditions;
+	private final Map<String, Timing> deserialization;
+	private final Map<String, Timing> serialization;
+	private final Map<ScriptCall, Timing> scriptCalls;
+
+	public RecipeReloadProfiler(boolean enabled) {
+		this.enabled = enabled;
+		this.phases = new ConcurrentHashMap<>();
+		this.conditions = new Timing();
+		this.deserialization = new ConcurrentHashMap<>();
+		this.serialization = new ConcurrentHashMap<>();
+		this.scriptCalls = new ConcurrentHashMap<>();
+	}
+
+	public long start() {
+		return enabled ? System.nanoTime() : 0L;
+	}
+
+	public void phase(String phase, long start) {
+		if (enabled) {
+			phases.computeIfAbsent(phase, k -> new Timing()).add(start);
+		}
+	}
+
+	public void conditions(long start) {
+		if (enabled) {
+			conditions.add(start);
+		}
+	}
+
+	public void deserialization(RecipeTypeFunction type, long start) {
+		if (enabled) {
+			deserialization.computeIfAbsent(type.idString, k -> new Timing()).add(start);
+		}
+	}
+
+	public void serialization(RecipeTypeFunction type, long start) {
+		if (enabled) {
+			serialization.computeIfAbsent(type.idString, k -> new Timing()).add(start);
+		}
+	}
+
+	/**
+	 * Attributes a recipe event method call to the script line that called it
+	 */
+	public void scriptCall(Context cx, String method, long start) {
+		if (enabled) {
+			scriptCalls.computeIfAbsent(new ScriptCall(SourceLine.of(cx), method), k -> new Timing()).add(start);
+		}
+	}
+
+	private static <K> JsonArray toJson(Map<K, Timing> map, String keyName) {
+		var entries = new ArrayList<>(map.entrySet());
+		entries.sort(Comparator.comparingLong((Map.Entry<K, Timing> e) -> e.getValue().nanos.sum()).reversed());
+
+		var array = new JsonArray(entries.size());
+
+		for (var entry : entries) {
+			array.add(entry.getValue().toJson(entry.getKey().toString(), keyName));
+		}
+
+		return array;
+	}
+
+	public JsonObject toJson() {
+		var json = new JsonObject();
+		json.add("phases", toJson(phases, "phase"));
+		json.add("conditions", conditions.toJson("conditions", "phase"));
+		json.add("deserialization", toJson(deserialization, "type"));
+		json.add("serialization", toJson(serialization, "type"));
+
+		var calls = new ArrayList<>(scriptCalls.entrySet());
+		calls.sort(Comparator.comparingLong((Map.Entry<ScriptCall, Timing> e) -> e.getValue().nanos.sum()).reversed());
+		var callArray = new JsonArray(calls.size());
+
+		for (var entry : calls) {
+			var o = entry.getValue().toJson(entry.getKey().line.toString(), "line");
+			o.addProperty("method", entry.getKey().method);
+			callArray.add(o);
+		}
+
+		json.add("script_calls", callArray);
+		return json;
+	}
+}
@@ -15,11 +15,17 @@ import dev.latvian.mods.kubejs.error.KubeRuntimeException;
 import dev.latvian.mods.kubejs.error.UnknownRecipeTypeException;
 import dev.latvian.mods.kubejs.event.KubeEvent;
 import dev.latvian.mods.kubejs.plugin.KubeJSPlugins;
+import dev.latvian.mods.kubejs.recipe.filter.AndFilter;
 import dev.latvian.mods.kubejs.recipe.filter.ConstantFilter;
+import dev.latvian.mods.kubejs.recipe.filter.GroupFilter;
 import dev.latvian.mods.kubejs.recipe.filter.IDFilter;
+import dev.latvian.mods.kubejs.recipe.filter.InputFilter;
+import dev.latvian.mods.kubejs.recipe.filter.ModFilter;
 import dev.latvian.mods.kubejs.recipe.filter.OrFilter;
+import dev.latvian.mods.kubejs.recipe.filter.OutputFilter;
 import dev.latvian.mods.kubejs.recipe.filter.RecipeFilter;
 import dev.latvian.mods.kubejs.recipe.filter.RegexIDFilter;
+import dev.latvian.mods.kubejs.recipe.filter.TypeFilter;
 import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
 import dev.latvian.mods.kubejs.recipe.schema.RecipeSchema;
 import dev.latvian.mods.kubejs.recipe.schema.RecipeSchemaStorage;
@@ -38,9 +44,11 @@ import dev.latvian.mods.kubejs.util.JsonUtils;
 import dev.latvian.mods.kubejs.util.RegistryAccessContainer;
 import dev.latvian.mods.kubejs.util.TimeJS;
 import dev.latvian.mods.kubejs.util.UtilsJS;
+import dev.latvian.mods.kubejs.web.local.KubeJSWeb;
 import dev.latvian.mods.rhino.Context;
 import dev.latvian.mods.rhino.util.HideFromJS;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.RegistryOps;
 import net.minecraft.resources.ResourceLocation;
@@ -54,8 +62,10 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -66,6 +76,7 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class RecipesKubeEvent implements KubeEvent {
@@ -75,7 +86,10 @@ public class RecipesKubeEvent implements KubeEvent {
 	private static final Predicate<KubeRecipe> RECIPE_IS_SYNTHETIC = r -> !r.newRecipe;
 
 	private final Stopwatch overallTimer;
+	@HideFromJS
+	public final RecipeReloadProfiler profiler;
 
+	public final ServerScriptManager scriptManager;
 	public final RecipeSchemaStorage recipeSchemaStorage;
 	public final RegistryAccessContainer registries;
 	public final ResourceManager resourceManager;
@@ -85,8 +99,12 @@ public class RecipesKubeEvent implements KubeEvent {
 	public final Collection<KubeRecipe> removedRecipes;
 
 	int modifiedCount, failedCount;
+	private RecipeCache.Result cachedResult;
 
 	private final Map<ResourceLocation, KubeRecipe> takenIds;
+	private final RecipeMatchIndex inputIndex;
+	private final RecipeMatchIndex outputIndex;
+	private final RecipeFilterIndex filterIndex;
 
 	private final Map<String, Object> recipeFunctions;
 	public final transient RecipeTypeFunction vanillaShaped;
@@ -106,7 +124,9 @@ public class RecipesKubeEvent implements KubeEvent {
 	public RecipesKubeEvent(ServerScriptManager manager, ResourceManager resourceManager) {
 		ConsoleJS.SERVER.info("Initializing recipe event...");
 		this.overallTimer = Stopwatch.createStarted();
+		this.profiler = DevProperties.get().profileRecipes || DataExport.export != null ? new RecipeReloadProfiler(true) : RecipeReloadProfiler.DISABLED;
 
+		this.scriptManager = manager;
 		this.recipeSchemaStorage = manager.recipeSchemaStorage;
 		this.registries = manager.getRegistries();
 		this.resourceManager = resourceManager;
@@ -116,6 +136,9 @@ public class RecipesKubeEvent implements KubeEvent {
 		this.removedRecipes = new ConcurrentLinkedQueue<>();
 		this.recipeFunctions = new HashMap<>();
 		this.takenIds = new ConcurrentHashMap<>();
+		this.inputIndex = new RecipeMatchIndex(originalRecipes.values(), false, registries);
+		this.outputIndex = new RecipeMatchIndex(originalRecipes.values(), true, registries);
+		this.filterIndex = new RecipeFilterIndex();
 
 		// var itemTags = manager.getLoadedTags(Registries.ITEM);
 		// System.out.println(itemTags);
@@ -176,97 +199,162 @@ public class RecipesKubeEvent implements KubeEvent {
 
 	@HideFromJS
 	public void post(RecipeManagerKJS recipeManager, Map<ResourceLocation, JsonElement> datapackRecipeMap) {
+		// plugin hooks run on cache hits too, injectRuntimeRecipes runs after this either way, and changes made here are part of the cache key
+		KubeJSPlugins.forEachPlugin(p -> p.beforeRecipeLoading(this, recipeManager, datapackRecipeMap));
+
+		// exports need the actual recipe objects, so they always go through the full event
+		var cache = CommonProperties.get().cacheRecipes && DataExport.export == null ? RecipeCache.create(this, datapackRecipeMap) : null;
+
+		if (cache != null) {
+			cachedResult = cache.load(datapackRecipeMap);
+
+			if (cachedResult != null) {
+				ConsoleJS.SERVER.info("Loaded %d recipes from cache %s, skipping recipe event".formatted(datapackRecipeMap.size(), cache.key));
+				return;
+			}
+		}
+
 		discoverRecipes(recipeManager, datapackRecipeMap);
 		postEvent();
 		applyChanges(datapackRecipeMap);
+
+		if (cache != null) {
+			cache.save(datapackRecipeMap, new RecipeCache.Result(addedRecipes.size(), removedRecipes.size(), modifiedCount));
+		}
+	}
+
+	private record DiscoveredRecipe(ResourceLocation id, @Nullable KubeRecipe recipe, List<Runnable> log) {
 	}
 
 	@HideFromJS
 	public void discoverRecipes(RecipeManagerKJS recipeManager, Map<ResourceLocation, JsonElement> datapackRecipeMap) {
 		var timer = Stopwatch.createStarted();
+		long start = profiler.start();
+
+		if (DevProperties.get().parallelRecipeDiscovery) {
+			var entries = new ArrayList<>(datapackRecipeMap.entrySet());
+			var discovered = new DiscoveredRecipe[entries.size()];
+
+			// log messages are collected per recipe and replayed in map order afterwards, so output doesn't depend on thread scheduling
+			IntStream.range(0, discovered.length).parallel().forEach(i -> {
+				var entry = entries.get(i);
+				var log = new ArrayList<Runnable>(0);
+				discovered[i] = new DiscoveredRecipe(entry.getKey(), discoverRecipe(entry.getKey(), entry.getValue(), log::add), log);
+			});
+
+			for (var d : discovered) {
+				for (var l : d.log) {
+					l.run();
+				}
 
-		KubeJSPlugins.forEachPlugin(p -> p.beforeRecipeLoading(this, recipeManager, datapackRecipeMap));
-
-		for (var entry : datapackRecipeMap.entrySet()) {
-			var recipeId = entry.getKey();
+				if (d.recipe != null) {
+					originalRecipes.put(d.id, d.recipe);
+				}
+			}
+		} else {
+			for (var entry : datapackRecipeMap.entrySet()) {
+				var recipe = discoverRecipe(entry.getKey(), entry.getValue(), Runnable::run);
 
-			//Forge: filter anything beginning with "_" as it's used for metadata.
-			if (recipeId == null || recipeId.getPath().startsWith("_")) {
-				infoSkip("Skipping recipe %s, filename starts with _".formatted(recipeId));
-				continue;
+				if (recipe != null) {
+					originalRecipes.put(entry.getKey(), recipe);
+				}
 			}
+		}
+
+		takenIds.putAll(originalRecipes);
+		filterIndex.build(originalRecipes.values());
+		profiler.phase("discover", start);
+		ConsoleJS.SERVER.info("Found %d recipes in %s".formatted(originalRecipes.size(), timer.stop()));
+	}
 
-			var originalJsonElement = entry.getValue();
+	@Nullable
+	private KubeRecipe discoverRecipe(@Nullable ResourceLocation recipeId, JsonElement originalJsonElement, Consumer<Runnable> log) {
+		//Forge: filter anything beginning with "_" as it's used for metadata.
+		if (recipeId == null || recipeId.getPath().startsWith("_")) {
+			log.accept(() -> infoSkip("Skipping recipe %s, filename starts with _".formatted(recipeId)));
+			return null;
+		}
 
-			if (!originalJsonElement.isJsonObject()) {
-				warnSkip("Skipping recipe %s, not a json object".formatted(recipeId));
-				continue;
-			}
+		if (!originalJsonElement.isJsonObject()) {
+			log.accept(() -> warnSkip("Skipping recipe %s, not a json object".formatted(recipeId)));
+			return null;
+		}
 
-			var originalJson = originalJsonElement.getAsJsonObject();
+		var originalJson = originalJsonElement.getAsJsonObject();
 
-			if (!originalJson.has("type")) {
-				warnSkip("Skipping recipe %s, not a json object".formatted(recipeId));
-				continue;
-			}
+		if (!originalJson.has("type")) {
+			log.accept(() -> warnSkip("Skipping recipe %s, not a json object".formatted(recipeId)));
+			return null;
+		}
 
-			var codec = ConditionalOps.createConditionalCodec(Codec.unit(originalJson));
-			switch (codec.parse(jsonOps, originalJson)) {
-				case DataResult.Success(var jsonResult, var lifecycle) -> {
-					if (jsonResult.isEmpty()) {
-						infoSkip("Skipping recipe %s, conditions not met".formatted(recipeId));
-					} else {
-						parseOriginalRecipe(jsonResult.get(), recipeId);
-					}
+		var codec = ConditionalOps.createConditionalCodec(Codec.unit(originalJson));
+		long start = profiler.start();
+		var conditionResult = codec.parse(jsonOps, originalJson);
+		profiler.conditions(start);
+
+		return switch (conditionResult) {
+			case DataResult.Success(var jsonResult, var lifecycle) -> {
+				if (jsonResult.isEmpty()) {
+					log.accept(() -> infoSkip("Skipping recipe %s, conditions not met".formatted(recipeId)));
+					yield null;
 				}
-				case DataResult.Error<?> error -> errorSkip("Skipping recipe %s, error parsing conditions: %s".formatted(recipeId, error.message()));
-			}
-		}
 
-		takenIds.putAll(originalRecipes);
-		ConsoleJS.SERVER.info("Found %d recipes in %s".formatted(originalRecipes.size(), timer.stop()));
+				yield parseOriginalRecipe(jsonResult.get(), recipeId, log);
+			}
+			case DataResult.Error<?> error -> {
+				log.accept(() -> errorSkip("Skipping recipe %s, error parsing conditions: %s".formatted(recipeId, error.message())));
+				yield null;
+			}
+		};
 	}
 
-	private void parseOriginalRecipe(JsonObject json, ResourceLocation recipeId) {
+	@Nullable
+	private KubeRecipe parseOriginalRecipe(JsonObject json, ResourceLocation recipeId, Consumer<Runnable> log) {
 		var typeStr = GsonHelper.getAsString(json, "type");
 		var recipeIdAndType = recipeId + "[" + typeStr + "]";
 		var type = getRecipeFunction(typeStr);
 
 		if (type == null) {
-			warnSkip("Skipping recipe %s, unknown type: %s".formatted(recipeId, typeStr));
-			return;
+			log.accept(() -> warnSkip("Skipping recipe %s, unknown type: %s".formatted(recipeId, typeStr)));
+			return null;
 		}
 
 		try {
+			long start = profiler.start();
 			var recipe = type.schemaType.schema.deserialize(SourceLine.UNKNOWN, type, recipeId, json);
 			recipe.afterLoaded();
-			originalRecipes.put(recipeId, recipe);
+			profiler.deserialization(type, start);
 
 			if (ConsoleJS.SERVER.shouldPrintDebug()) {
 				var original = recipe.getOriginalRecipe();
 
 				if (original == null || SpecialRecipeSerializerManager.INSTANCE.isSpecial(original)) {
-					ConsoleJS.SERVER.debug("Loaded recipe " + recipeIdAndType + ": <dynamic>");
+					log.accept(() -> ConsoleJS.SERVER.debug("Loaded recipe " + recipeIdAndType + ": <dynamic>"));
 				} else {
-					ConsoleJS.SERVER.debug("Loaded recipe " + recipeIdAndType + ": " + recipe.getFromToString());
+					var fromTo = recipe.getFromToString();
+					log.accept(() -> ConsoleJS.SERVER.debug("Loaded recipe " + recipeIdAndType + ": " + fromTo));
 				}
 			}
+
+			return recipe;
 		} catch (InvalidRecipeComponentException ignore) {
 		} catch (Throwable ex) {
 			if (DevProperties.get().logErroringRecipes) {
-				ConsoleJS.SERVER.warn("Failed to parse recipe '" + recipeIdAndType + "'! Falling back to vanilla", ex, POST_SKIP_ERROR);
+				log.accept(() -> ConsoleJS.SERVER.warn("Failed to parse recipe '" + recipeIdAndType + "'! Falling back to vanilla", ex, POST_SKIP_ERROR));
 			}
 
 			try {
-				originalRecipes.put(recipeId, UnknownRecipeSchema.SCHEMA.deserialize(SourceLine.UNKNOWN, type, recipeId, json));
+				return UnknownRecipeSchema.SCHEMA.deserialize(SourceLine.UNKNOWN, type, recipeId, json);
 			} catch (NullPointerException | IllegalArgumentException | JsonParseException ex2) {
 				if (DevProperties.get().logErroringRecipes) {
-					ConsoleJS.SERVER.warn("Failed to parse recipe " + recipeIdAndType, ex2, POST_SKIP_ERROR);
+					log.accept(() -> ConsoleJS.SERVER.warn("Failed to parse recipe " + recipeIdAndType, ex2, POST_SKIP_ERROR));
 				}
 			} catch (Exception ex3) {
-				ConsoleJS.SERVER.warn("Failed to parse recipe " + recipeIdAndType, ex3, POST_SKIP_ERROR);
+				log.accept(() -> ConsoleJS.SERVER.warn("Failed to parse recipe " + recipeIdAndType, ex3, POST_SKIP_ERROR));
 			}
 		}
+
+		return null;
 	}
 
 	private void infoSkip(String s) {
@@ -296,6 +384,7 @@ public class RecipesKubeEvent implements KubeEvent {
 	@HideFromJS
 	public void postEvent() {
 		var timer = Stopwatch.createStarted();
+		long start = profiler.start();
 
 		ServerEvents.RECIPES.post(ScriptType.SERVER, this);
 
@@ -307,41 +396,55 @@ public class RecipesKubeEvent implements KubeEvent {
 			}
 		}
 
+		profiler.phase("post", start);
 		ConsoleJS.SERVER.info("Posted recipe events in " + TimeJS.msToString(timer.stop().elapsed(TimeUnit.MILLISECONDS)));
 	}
 
 	@HideFromJS
 	public void applyChanges(Map<ResourceLocation, JsonElement> map) {
 		var timer = Stopwatch.createStarted();
+		long start = profiler.start();
 		addedRecipes.removeIf(RECIPE_IS_SYNTHETIC);
 
 		map.clear();
 		map.putAll(originalRecipes.values().parallelStream()
 			.filter(RECIPE_NOT_REMOVED)
-			.map(KubeRecipe::serializeChanges)
+			.map(this::serializeChanges)
 			.peek(this::addToExport)
 			.collect(Collectors.toConcurrentMap(KubeRecipe::getOrCreateId, recipe -> recipe.json, (a, b) -> b)));
 
 		map.putAll(addedRecipes.parallelStream()
 			.filter(RECIPE_NOT_REMOVED)
-			.map(KubeRecipe::serializeChanges)
+			.map(this::serializeChanges)
 			.peek(this::addToExport)
 			.collect(Collectors.toConcurrentMap(KubeRecipe::getOrCreateId, recipe -> recipe.json, (a, b) -> {
 				ConsoleJS.SERVER.warn("KubeJS has found two recipes with the same ID in your custom recipes! Picking the last one encountered!");
 				return b;
 			})));
 
+		profiler.phase("apply", start);
 		ConsoleJS.SERVER.info("KubeJS modifications to recipe manager finished in %s".formatted(timer.stop()));
 	}
 
+	private KubeRecipe serializeChanges(KubeRecipe r) {
+		long start = profiler.start();
+		r.serializeChanges();
+		profiler.serialization(r.type, start);
+		return r;
+	}
+
 	@HideFromJS
 	public void finishEvent() {
-		ChangesForChat.recipesAdded = addedRecipes.size();
-		ChangesForChat.recipesModified = modifiedCount;
-		ChangesForChat.recipesRemoved = removedRecipes.size();
+		int added = cachedResult == null ? addedRecipes.size() : cachedResult.added();
+		int removed = cachedResult == null ? removedRecipes.size() : cachedResult.removed();
+		int modified = cachedResult == null ? modifiedCount : cachedResult.modified();
+
+		ChangesForChat.recipesAdded = added;
+		ChangesForChat.recipesModified = modified;
+		ChangesForChat.recipesRemoved = removed;
 		ChangesForChat.recipesMs = overallTimer.stop().elapsed(TimeUnit.MILLISECONDS);
 
-		ConsoleJS.SERVER.info("Added %d recipes, removed %d recipes, modified %d recipes, with %d failed recipes taking %s in total".formatted(addedRecipes.size(), removedRecipes.size(), modifiedCount, failedCount, TimeJS.msToString(ChangesForChat.recipesMs)));
+		ConsoleJS.SERVER.info("Added %d recipes, removed %d recipes, modified %d recipes, with %d failed recipes taking %s in total".formatted(added, removed, modified, failedCount, TimeJS.msToString(ChangesForChat.recipesMs)));
 
 		if (DataExport.export != null) {
 			for (var r : removedRecipes) {
@@ -371,6 +474,17 @@ public class RecipesKubeEvent implements KubeEvent {
 			}
 		}
 
+		if (profiler.enabled) {
+			var report = profiler.toJson();
+			report.addProperty("total_ms", ChangesForChat.recipesMs);
+
+			if (DataExport.export != null) {
+				DataExport.export.addJson("recipe_profile.json", report);
+			}
+
+			KubeJSWeb.broadcastUpdate("recipe_profile", "", () -> report);
+		}
+
 		RegexIDFilter.clearInternCache();
 	}
 
@@ -418,7 +532,88 @@ public class RecipesKubeEvent implements KubeEvent {
 		}
 	}
 
+	@HideFromJS
+	public void invalidateMatchIndex(KubeRecipe r) {
+		inputIndex.invalidate(r);
+		outputIndex.invalidate(r);
+		filterIndex.invalidate(r);
+	}
+
+	/**
+	 * Plans a filter against the recipe indexes.
+	 *
+	 * @return a superset of the original recipes matching this filter, or null if every recipe has to be tested
+	 */
+	@Nullable
+	private Set<KubeRecipe> findCandidates(RecipeFilter filter) {
+		return switch (filter) {
+			case ConstantFilter c when !c.filter() -> Set.of();
+			case IDFilter f -> {
+				var r = originalRecipes.get(f.id);
+				yield r == null ? Set.of() : Set.of(r);
+			}
+			case ModFilter f -> filterIndex.findMod(f.mod);
+			case TypeFilter f -> filterIndex.findType(f.type);
+			case GroupFilter f -> filterIndex.findGroup(f.group);
+			case InputFilter f -> inputIndex.find(f.match());
+			case OutputFilter f -> outputIndex.find(f.match);
+			case AndFilter and -> {
+				var sets = new ArrayList<Set<KubeRecipe>>(and.list.size());
+
+				for (var f : and.list) {
+					var c = findCandidates(f);
+
+					if (c != null) {
+						sets.add(c);
+					}
+				}
+
+				if (sets.isEmpty()) {
+					yield null;
+				} else if (sets.size() == 1) {
+					yield sets.getFirst();
+				}
+
+				sets.sort(Comparator.comparingInt(Set::size));
+				var result = new ReferenceLinkedOpenHashSet<KubeRecipe>();
+
+				candidates:
+				for (var r : sets.getFirst()) {
+					for (int i = 1; i < sets.size(); i++) {
+						if (!sets.get(i).contains(r)) {
+							continue candidates;
+						}
+					}
+
+					result.add(r);
+				}
+
+				yield result;
+			}
+			case OrFilter or -> {
+				var result = new ReferenceLinkedOpenHashSet<KubeRecipe>();
+
+				for (var f : or.list) {
+					var c = findCandidates(f);
+
+					if (c == null) {
+						yield null;
+					}
+
+					result.addAll(c);
+				}
+
+				yield result;
+			}
+			default -> null;
+		};
+	}
+
 	public Stream<KubeRecipe> recipeStream(Context cx, RecipeFilter filter) {
+		return recipeStream(cx, filter, null);
+	}
+
+	private Stream<KubeRecipe> recipeStream(Context cx, RecipeFilter filter, @Nullable Set<KubeRecipe> matchCandidates) {
 		if (filter == ConstantFilter.FALSE) {
 			return Stream.empty();
 		} else if (filter instanceof IDFilter id) {
@@ -441,14 +636,29 @@ public class RecipesKubeEvent implements KubeEvent {
 			return or.list.stream().map(idf -> originalRecipes.get(((IDFilter) idf).id)).filter(RECIPE_NOT_REMOVED);
 		}
 
-		return originalRecipes.values().stream().filter(new RecipeStreamFilter(cx, filter));
+		var candidates = findCandidates(filter);
+
+		if (matchCandidates != null && (candidates == null || matchCandidates.size() < candidates.size())) {
+			candidates = matchCandidates;
+		}
+
+		return (candidates == null ? originalRecipes.values() : candidates).stream().filter(new RecipeStreamFilter(cx, filter));
 	}
 
-	private <T> T reduceRecipesAsync(Context cx, RecipeFilter filter, Function<Stream<KubeRecipe>, T> function) {
-		return function.apply(recipeStream(cx, filter));
+	private <T> T reduceRecipesAsync(Context cx, RecipeFilter filter, Function<Stream<KubeRecipe>, T> function, String method) {
+		long start = profiler.start();
+		var result = function.apply(recipeStream(cx, filter));
+		profiler.scriptCall(cx, method, start);
+		return result;
 	}
 
 	public void forEachRecipe(Context cx, RecipeFilter filter, Consumer<KubeRecipe> consumer) {
+		long start = profiler.start();
+		forEachRecipe0(cx, filter, consumer);
+		profiler.scriptCall(cx, "forEachRecipe", start);
+	}
+
+	private void forEachRecipe0(Context cx, RecipeFilter filter, Consumer<KubeRecipe> consumer) {
 		if (filter instanceof IDFilter id) {
 			var r = originalRecipes.get(id.id);
 
@@ -461,29 +671,32 @@ public class RecipesKubeEvent implements KubeEvent {
 	}
 
 	public int countRecipes(Context cx, RecipeFilter filter) {
-		return reduceRecipesAsync(cx, filter, s -> (int) s.count());
+		return reduceRecipesAsync(cx, filter, s -> (int) s.count(), "countRecipes");
 	}
 
 	public boolean containsRecipe(Context cx, RecipeFilter filter) {
-		return reduceRecipesAsync(cx, filter, s -> s.findAny().isPresent());
+		return reduceRecipesAsync(cx, filter, s -> s.findAny().isPresent(), "containsRecipe");
 	}
 
 	public Collection<KubeRecipe> findRecipes(Context cx, RecipeFilter filter) {
-		return reduceRecipesAsync(cx, filter, Stream::toList);
+		return reduceRecipesAsync(cx, filter, Stream::toList, "findRecipes");
 	}
 
 	public Collection<ResourceLocation> findRecipeIds(Context cx, RecipeFilter filter) {
-		return reduceRecipesAsync(cx, filter, s -> s.map(KubeRecipe::getOrCreateId).toList());
+		return reduceRecipesAsync(cx, filter, s -> s.map(KubeRecipe::getOrCreateId).toList(), "findRecipeIds");
 	}
 
 	public void remove(Context cx, RecipeFilter filter) {
-		forEachRecipe(cx, filter, KubeRecipe::remove);
+		long start = profiler.start();
+		forEachRecipe0(cx, filter, KubeRecipe::remove);
+		profiler.scriptCall(cx, "remove", start);
 	}
 
 	public void replaceInput(Context cx, RecipeFilter filter, ReplacementMatchInfo match, Object with) {
+		long start = profiler.start();
 		var dstring = (DevProperties.get().logModifiedRecipes || ConsoleJS.SERVER.shouldPrintDebug()) ? (": IN " + match + " -> " + with) : "";
 
-		forEachRecipe(cx, filter, r -> {
+		recipeStream(cx, filter, inputIndex.find(match)).forEach(r -> {
 			if (r.replaceInput(cx, match, with)) {
 				if (DevProperties.get().logModifiedRecipes) {
 					ConsoleJS.SERVER.info("~ " + r + dstring);
@@ -492,12 +705,15 @@ public class RecipesKubeEvent implements KubeEvent {
 				}
 			}
 		});
+
+		profiler.scriptCall(cx, "replaceInput", start);
 	}
 
 	public void replaceOutput(Context cx, RecipeFilter filter, ReplacementMatchInfo match, Object with) {
+		long start = profiler.start();
 		var dstring = (DevProperties.get().logModifiedRecipes || ConsoleJS.SERVER.shouldPrintDebug()) ? (": OUT " + match + " -> " + with) : "";
 
-		forEachRecipe(cx, filter, r -> {
+		recipeStream(cx, filter, outputIndex.find(match)).forEach(r -> {
 			if (r.replaceOutput(cx, match, with)) {
 				if (DevProperties.get().logModifiedRecipes) {
 					ConsoleJS.SERVER.info("~ " + r + dstring);
@@ -506,6 +722,8 @@ public class RecipesKubeEvent implements KubeEvent {
 				}
 			}
 		});
+
+		profiler.scriptCall(cx, "replaceOutput", start);
 	}
 
 	public RecipeTypeFunction getRecipeFunction(@Nullable String id) {
@@ -571,7 +789,7 @@ public class RecipesKubeEvent implements KubeEvent {
 
 	public void printTypes(Context cx) {
 		ConsoleJS.SERVER.info("== All recipe types [used] ==");
-		var set = reduceRecipesAsync(cx, ConstantFilter.TRUE, s -> s.map(r -> r.type.id).collect(Collectors.toSet()));
+		var set = reduceRecipesAsync(cx, ConstantFilter.TRUE, s -> s.map(r -> r.type.id).collect(Collectors.toSet()), "printTypes");
 		printTypes(t -> set.contains(t.id));
 	}
 
@@ -0,0 +1,120 @@
+package dev.latvian.mods.kubejs.recipe;
+
+import net.minecraft.core.IdMap;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable set of registry values, stored as a bitset indexed by registry raw id
+ */
+public final class TagBitSet<T> {
+	private static final long[] EMPTY_WORDS = new long[0];
+
+	public static <T> TagBitSet<T> of(IdMap<T> registry, Collection<T> values) {
+		var words = EMPTY_WORDS;
+
+		for (var value : values) {
+			int id = registry.getId(value);
+
+			if (id >= 0) {
+				int w = id >>> 6;
+
+				if (w >= words.length) {
+					words = Arrays.copyOf(words, Math.max(w + 1, (registry.size() + 63) >>> 6));
+				}
+
+				words[w] |= 1L << id;
+			}
+		}
+
+		return new TagBitSet<>(registry, words);
+	}
+
+	private final IdMap<T> registry;
+	private final long[] words;
+	private final int cardinality;
+
+	private TagBitSet(IdMap<T> registry, long[] words) {
+		int last = words.length;
+
+		while (last > 0 && words[last - 1] == 0L) {
+			last--;
+		}
+
+		this.registry = registry;
+		this.words = last == words.length ? words : Arrays.copyOf(words, last);
+
+		int c = 0;
+
+		for (var w : this.words) {
+			c += Long.bitCount(w);
+		}
+
+		this.cardinality = c;
+	}
+
+	public boolean contains(int id) {
+		int w = id >>> 6;
+		return id >= 0 && w < words.length && (words[w] & (1L << id)) != 0L;
+	}
+
+	public boolean contains(T value) {
+		return contains(registry.getId(value));
+	}
+
+	public int size() {
+		return cardinality;
+	}
+
+	public boolean isEmpty() {
+		return cardinality == 0;
+	}
+
+	public boolean intersects(TagBitSet<T> other) {
+		for (int i = Math.min(words.length, other.words.length) - 1; i >= 0; i--) {
+			if ((words[i] & other.words[i]) != 0L) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	public TagBitSet<T> union(TagBitSet<T> other) {
+		var a = words.length >= other.words.length ? words : other.words;
+		var b = a == words ? other.words : words;
+		var result = a.clone();
+
+		for (int i = 0; i < b.length; i++) {
+			result[i] |= b[i];
+		}
+
+		return new TagBitSet<>(registry, result);
+	}
+
+	public TagBitSet<T> intersection(TagBitSet<T> other) {
+		var result = Arrays.copyOf(words, Math.min(words.length, other.words.length));
+
+		for (int i = 0; i < result.length; i++) {
+			result[i] &= other.words[i];
+		}
+
+		return new TagBitSet<>(registry, result);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o == this || o instanceof TagBitSet<?> s && registry == s.registry && Arrays.equals(words, s.words);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(words);
+	}
+
+	@Override
+	public String toString() {
+		return "TagBitSet[" + cardinality + "]";
+	}
+}
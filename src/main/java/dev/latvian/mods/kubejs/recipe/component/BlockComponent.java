@@ -14,6 +14,8 @@ import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 
+import java.util.Set;
+
 public record BlockComponent() implements RecipeComponent<Block> {
 	public static final RecipeComponent<Block> BLOCK = new BlockComponent();
 
@@ -42,6 +44,12 @@ public record BlockComponent() implements RecipeComponent<Block> {
 		return match.match() instanceof BlockStatePredicate m2 && m2.testBlock(value);
 	}
 
+	@Override
+	public boolean collectMatchKeys(Block value, Set<Object> keys) {
+		// only matches block state predicates, which aren't looked up by items or fluids
+		return true;
+	}
+
 	@Override
 	public boolean isEmpty(Block value) {
 		return value == Blocks.AIR;
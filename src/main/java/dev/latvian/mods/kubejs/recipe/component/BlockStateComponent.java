@@ -18,6 +18,7 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 
 import java.util.Map;
+import java.util.Set;
 
 public record BlockStateComponent(boolean preferObjectForm) implements RecipeComponent<BlockState> {
 	public static final RecipeComponent<BlockState> BLOCK = new BlockStateComponent(true);
@@ -59,6 +60,12 @@ public record BlockStateComponent(boolean preferObjectForm) implements RecipeCom
 		return match.match() instanceof BlockStatePredicate m2 && m2.test(value);
 	}
 
+	@Override
+	public boolean collectMatchKeys(BlockState value, Set<Object> keys) {
+		// only matches block state predicates, which aren't looked up by items or fluids
+		return true;
+	}
+
 	@Override
 	public boolean isEmpty(BlockState value) {
 		return value.getBlock() == Blocks.AIR;
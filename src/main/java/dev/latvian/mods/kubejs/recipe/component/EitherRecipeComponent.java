@@ -4,12 +4,15 @@ import com.mojang.datafixers.util.Either;
 import com.mojang.serialization.Codec;
 import dev.latvian.mods.kubejs.error.KubeRuntimeException;
 import dev.latvian.mods.kubejs.recipe.KubeRecipe;
+import dev.latvian.mods.kubejs.recipe.RecipeMatchIndex;
 import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
 import dev.latvian.mods.kubejs.recipe.schema.RecipeComponentFactory;
 import dev.latvian.mods.kubejs.script.ConsoleJS;
 import dev.latvian.mods.rhino.Context;
 import dev.latvian.mods.rhino.type.TypeInfo;
 
+import java.util.Set;
+
 @SuppressWarnings("OptionalIsPresent")
 public record EitherRecipeComponent<H, L>(RecipeComponent<H> high, RecipeComponent<L> low) implements RecipeComponent<Either<H, L>> {
 	public static final RecipeComponentFactory FACTORY = RecipeComponentFactory.readTwoComponents(EitherRecipeComponent::new);
@@ -54,6 +57,12 @@ public record EitherRecipeComponent<H, L>(RecipeComponent<H> high, RecipeCompone
 		return l.isPresent() ? high.matches(cx, recipe, l.get(), match) : low.matches(cx, recipe, value.right().get(), match);
 	}
 
+	@Override
+	public boolean collectMatchKeys(Either<H, L> value, Set<Object> keys) {
+		var l = value.left();
+		return l.isPresent() ? RecipeMatchIndex.collect(high, l.get(), keys) : RecipeMatchIndex.collect(low, value.right().get(), keys);
+	}
+
 	@Override
 	public Either<H, L> replace(Context cx, KubeRecipe recipe, Either<H, L> original, ReplacementMatchInfo match, Object with) {
 		var l = original.left();
@@ -3,6 +3,7 @@ package dev.latvian.mods.kubejs.recipe.component;
 import com.mojang.serialization.Codec;
 import dev.latvian.mods.kubejs.fluid.FluidWrapper;
 import dev.latvian.mods.kubejs.recipe.KubeRecipe;
+import dev.latvian.mods.kubejs.recipe.RecipeMatchIndex;
 import dev.latvian.mods.kubejs.recipe.match.FluidMatch;
 import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
 import dev.latvian.mods.rhino.Context;
@@ -12,6 +13,8 @@ import net.neoforged.neoforge.fluids.FluidStack;
 import net.neoforged.neoforge.fluids.crafting.FluidIngredient;
 import net.neoforged.neoforge.fluids.crafting.SizedFluidIngredient;
 
+import java.util.Set;
+
 public class FluidIngredientComponent implements RecipeComponent<FluidIngredient> {
 	public static final FluidIngredientComponent FLUID_INGREDIENT = new FluidIngredientComponent();
 
@@ -35,6 +38,16 @@ public class FluidIngredientComponent implements RecipeComponent<FluidIngredient
 		return match.match() instanceof FluidMatch m && m.matches(cx, value, match.exact());
 	}
 
+	@Override
+	public boolean collectMatchKeys(FluidIngredient value, Set<Object> keys) {
+		if (!value.isSimple()) {
+			return false;
+		}
+
+		RecipeMatchIndex.collectFluidIngredient(value, keys);
+		return true;
+	}
+
 	@Override
 	public boolean isEmpty(FluidIngredient value) {
 		return value.isEmpty();
@@ -12,6 +12,8 @@ import net.neoforged.neoforge.fluids.FluidStack;
 import net.neoforged.neoforge.fluids.crafting.FluidIngredient;
 import net.neoforged.neoforge.fluids.crafting.SizedFluidIngredient;
 
+import java.util.Set;
+
 public class FluidStackComponent implements RecipeComponent<FluidStack> {
 	public static final FluidStackComponent FLUID_STACK = new FluidStackComponent();
 
@@ -35,6 +37,15 @@ public class FluidStackComponent implements RecipeComponent<FluidStack> {
 		return match.match() instanceof FluidMatch m && m.matches(cx, value, match.exact());
 	}
 
+	@Override
+	public boolean collectMatchKeys(FluidStack value, Set<Object> keys) {
+		if (!value.isEmpty()) {
+			keys.add(value.getFluid());
+		}
+
+		return true;
+	}
+
 	@Override
 	public boolean isEmpty(FluidStack value) {
 		return value.isEmpty();
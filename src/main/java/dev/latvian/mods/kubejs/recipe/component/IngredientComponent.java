@@ -4,6 +4,7 @@ import com.mojang.serialization.Codec;
 import dev.latvian.mods.kubejs.bindings.IngredientWrapper;
 import dev.latvian.mods.kubejs.item.ingredient.IngredientJS;
 import dev.latvian.mods.kubejs.recipe.KubeRecipe;
+import dev.latvian.mods.kubejs.recipe.RecipeMatchIndex;
 import dev.latvian.mods.kubejs.recipe.match.ItemMatch;
 import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
 import dev.latvian.mods.kubejs.util.TinyMap;
@@ -15,6 +16,7 @@ import net.neoforged.neoforge.common.crafting.SizedIngredient;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class IngredientComponent implements RecipeComponent<Ingredient> {
 	public static final IngredientComponent INGREDIENT = new IngredientComponent("ingredient", Ingredient.CODEC);
@@ -75,6 +77,16 @@ public class IngredientComponent implements RecipeComponent<Ingredient> {
 		return match.match() instanceof ItemMatch m && !value.isEmpty() && m.matches(cx, value, match.exact());
 	}
 
+	@Override
+	public boolean collectMatchKeys(Ingredient value, Set<Object> keys) {
+		if (value.isCustom()) {
+			return false;
+		}
+
+		RecipeMatchIndex.collectIngredient(value, keys);
+		return true;
+	}
+
 	@Override
 	public boolean isEmpty(Ingredient value) {
 		if (value.isEmpty()) {
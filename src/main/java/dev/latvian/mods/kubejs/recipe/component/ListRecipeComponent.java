@@ -5,6 +5,7 @@ import com.mojang.serialization.Codec;
 import dev.latvian.mods.kubejs.KubeJSCodecs;
 import dev.latvian.mods.kubejs.error.EmptyRecipeComponentException;
 import dev.latvian.mods.kubejs.recipe.KubeRecipe;
+import dev.latvian.mods.kubejs.recipe.RecipeMatchIndex;
 import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
 import dev.latvian.mods.rhino.Context;
 import dev.latvian.mods.rhino.type.TypeInfo;
@@ -15,6 +16,7 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public record ListRecipeComponent<T>(RecipeComponent<T> component, boolean canWriteSelf, TypeInfo listTypeInfo, Codec<List<T>> listCodec, boolean conditional) implements RecipeComponent<List<T>> {
 	static <L> ListRecipeComponent<L> create(RecipeComponent<L> component, boolean canWriteSelf, boolean conditional) {
@@ -111,6 +113,17 @@ public record ListRecipeComponent<T>(RecipeComponent<T> component, boolean canWr
 		return false;
 	}
 
+	@Override
+	public boolean collectMatchKeys(List<T> value, Set<Object> keys) {
+		for (var v : value) {
+			if (!RecipeMatchIndex.collect(component, v, keys)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public List<T> replace(Context cx, KubeRecipe recipe, List<T> original, ReplacementMatchInfo match, Object with) {
 		var arr = original;
@@ -4,6 +4,7 @@ import com.google.gson.JsonObject;
 import com.mojang.serialization.Codec;
 import dev.latvian.mods.kubejs.error.EmptyRecipeComponentException;
 import dev.latvian.mods.kubejs.recipe.KubeRecipe;
+import dev.latvian.mods.kubejs.recipe.RecipeMatchIndex;
 import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
 import dev.latvian.mods.kubejs.recipe.schema.RecipeComponentFactory;
 import dev.latvian.mods.kubejs.util.TinyMap;
@@ -12,6 +13,7 @@ import dev.latvian.mods.rhino.type.TypeInfo;
 import net.minecraft.world.item.crafting.Ingredient;
 
 import java.util.Map;
+import java.util.Set;
 
 public record MapRecipeComponent<K, V>(RecipeComponent<K> key, RecipeComponent<V> component, boolean patternKey) implements RecipeComponent<TinyMap<K, V>> {
 	public static final MapRecipeComponent<Character, Ingredient> INGREDIENT_PATTERN_KEY = new MapRecipeComponent<>(CharacterComponent.CHARACTER, IngredientComponent.INGREDIENT, true);
@@ -111,6 +113,17 @@ public record MapRecipeComponent<K, V>(RecipeComponent<K> key, RecipeComponent<V
 		return false;
 	}
 
+	@Override
+	public boolean collectMatchKeys(TinyMap<K, V> value, Set<Object> keys) {
+		for (var entry : value.entries()) {
+			if (!RecipeMatchIndex.collect(component, entry.value(), keys)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public TinyMap<K, V> replace(Context cx, KubeRecipe recipe, TinyMap<K, V> original, ReplacementMatchInfo match, Object with) {
 		var map = original;
@@ -7,6 +7,7 @@ import com.mojang.serialization.DataResult;
 import dev.latvian.mods.kubejs.error.EmptyRecipeComponentValueException;
 import dev.latvian.mods.kubejs.recipe.KubeRecipe;
 import dev.latvian.mods.kubejs.recipe.RecipeKey;
+import dev.latvian.mods.kubejs.recipe.RecipeMatchIndex;
 import dev.latvian.mods.kubejs.recipe.RecipesKubeEvent;
 import dev.latvian.mods.kubejs.recipe.match.Replaceable;
 import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
@@ -18,6 +19,7 @@ import dev.latvian.mods.rhino.type.TypeInfo;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * A <b>recipe component</b> is a reusable definition of a recipe element (such as an in/output item, a fluid, or even just a number value)
@@ -171,6 +173,19 @@ public interface RecipeComponent<T> {
 		return false;
 	}
 
+	/**
+	 * Collects every item and fluid that {@link #matches(Context, KubeRecipe, Object, ReplacementMatchInfo)} could return true for into a set,
+	 * used by {@link RecipeMatchIndex} to skip recipes that can't possibly match.
+	 * Override this alongside {@link #matches(Context, KubeRecipe, Object, ReplacementMatchInfo)}, otherwise recipes using this component will always be tested.
+	 *
+	 * @param value The value to collect keys from
+	 * @param keys  The set of {@link net.minecraft.world.item.Item}s and {@link net.minecraft.world.level.material.Fluid}s to add to
+	 * @return false if the matched items and fluids can't be determined
+	 */
+	default boolean collectMatchKeys(T value, Set<Object> keys) {
+		return false;
+	}
+
 	default T replace(Context cx, KubeRecipe recipe, T original, ReplacementMatchInfo match, Object with) {
 		return original instanceof Replaceable r && matches(cx, recipe, original, match) ? wrap(cx, recipe, r.replaceThisWith(cx, with)) : original;
 	}
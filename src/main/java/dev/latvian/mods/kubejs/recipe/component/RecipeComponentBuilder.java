@@ -9,6 +9,7 @@ import com.mojang.serialization.MapLike;
 import com.mojang.serialization.RecordBuilder;
 import dev.latvian.mods.kubejs.error.EmptyRecipeComponentException;
 import dev.latvian.mods.kubejs.recipe.KubeRecipe;
+import dev.latvian.mods.kubejs.recipe.RecipeMatchIndex;
 import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
 import dev.latvian.mods.kubejs.util.Cast;
 import dev.latvian.mods.rhino.Context;
@@ -173,6 +174,17 @@ public class RecipeComponentBuilder implements RecipeComponent<Map<RecipeCompone
 		return false;
 	}
 
+	@Override
+	public boolean collectMatchKeys(Map<Key, Value> value, Set<Object> keys) {
+		for (var e : value.values()) {
+			if (!RecipeMatchIndex.collect(e.key.component, Cast.to(e.value), keys)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public Map<Key, Value> replace(Context cx, KubeRecipe recipe, Map<Key, Value> original, ReplacementMatchInfo match, Object with) {
 		var replaced = original;
@@ -4,13 +4,16 @@ import dev.latvian.mods.kubejs.error.InvalidRecipeComponentException;
 import dev.latvian.mods.kubejs.error.MissingRequiredValueException;
 import dev.latvian.mods.kubejs.recipe.KubeRecipe;
 import dev.latvian.mods.kubejs.recipe.RecipeKey;
+import dev.latvian.mods.kubejs.recipe.RecipeMatchIndex;
 import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
 import dev.latvian.mods.kubejs.script.SourceLine;
 import dev.latvian.mods.kubejs.util.WrappedJS;
 import dev.latvian.mods.rhino.Context;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 public final class RecipeComponentValue<T> implements WrappedJS, Map.Entry<RecipeKey<T>, T> {
 	public static final RecipeComponentValue<?>[] EMPTY_ARRAY = new RecipeComponentValue[0];
@@ -19,6 +22,9 @@ public final class RecipeComponentValue<T> implements WrappedJS, Map.Entry<Recip
 	public final int index;
 	public T value;
 	public boolean write;
+	// recipe this value belongs to, so changes that skip KubeRecipe.save() still reach its match index
+	@Nullable
+	public transient KubeRecipe recipe;
 
 	public RecipeComponentValue(RecipeKey<T> key, int index) {
 		this.key = key;
@@ -38,6 +44,10 @@ public final class RecipeComponentValue<T> implements WrappedJS, Map.Entry<Recip
 		return value != null && (match.componentType().isEmpty() || key.component.equals(match.componentType().get())) && key.component.matches(cx, recipe, value, match);
 	}
 
+	public boolean collectMatchKeys(Set<Object> keys) {
+		return value == null || RecipeMatchIndex.collect(key.component, value, keys);
+	}
+
 	public boolean replace(Context cx, KubeRecipe recipe, ReplacementMatchInfo match, Object with) {
 		var newValue = value == null ? null : key.component.replace(cx, recipe, value, match, with);
 
@@ -68,6 +78,11 @@ public final class RecipeComponentValue<T> implements WrappedJS, Map.Entry<Recip
 	public T setValue(T newValue) {
 		var v = value;
 		value = newValue;
+
+		if (recipe != null) {
+			recipe.invalidateMatchIndex();
+		}
+
 		return v;
 	}
 
@@ -1,9 +1,11 @@
 package dev.latvian.mods.kubejs.recipe.component;
 
+import dev.latvian.mods.kubejs.recipe.KubeRecipe;
 import dev.latvian.mods.kubejs.recipe.RecipeKey;
 import dev.latvian.mods.kubejs.util.Cast;
 import dev.latvian.mods.rhino.Wrapper;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.AbstractMap;
 import java.util.List;
@@ -25,14 +27,19 @@ public class RecipeComponentValueMap extends AbstractMap<RecipeKey<?>, Object> {
 		}
 	}
 
-	public RecipeComponentValueMap(List<RecipeKey<?>> keys) {
+	public RecipeComponentValueMap(@Nullable KubeRecipe recipe, List<RecipeKey<?>> keys) {
 		this.holders = new RecipeComponentValue[keys.size()];
 
 		for (int i = 0; i < holders.length; i++) {
 			this.holders[i] = new RecipeComponentValue<>(keys.get(i), i);
+			this.holders[i].recipe = recipe;
 		}
 	}
 
+	public RecipeComponentValueMap(List<RecipeKey<?>> keys) {
+		this(null, keys);
+	}
+
 	@NotNull
 	@Override
 	public Set<Map.Entry<RecipeKey<?>, Object>> entrySet() {
@@ -2,10 +2,13 @@ package dev.latvian.mods.kubejs.recipe.component;
 
 import com.mojang.serialization.Codec;
 import dev.latvian.mods.kubejs.recipe.KubeRecipe;
+import dev.latvian.mods.kubejs.recipe.RecipeMatchIndex;
 import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
 import dev.latvian.mods.rhino.Context;
 import dev.latvian.mods.rhino.type.TypeInfo;
 
+import java.util.Set;
+
 /**
  * A recipe component that may delegate most of its logic to a parent component.
  * A common example of using this would be to define a custom item output component
@@ -42,6 +45,11 @@ public interface RecipeComponentWithParent<T> extends RecipeComponent<T> {
 		return parentComponent().matches(cx, recipe, value, match);
 	}
 
+	@Override
+	default boolean collectMatchKeys(T value, Set<Object> keys) {
+		return RecipeMatchIndex.collect(parentComponent(), value, keys);
+	}
+
 	@Override
 	default T replace(Context cx, KubeRecipe recipe, T original, ReplacementMatchInfo match, Object with) {
 		return parentComponent().replace(cx, recipe, original, match, with);
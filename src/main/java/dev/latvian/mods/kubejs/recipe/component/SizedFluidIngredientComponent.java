@@ -3,6 +3,7 @@ package dev.latvian.mods.kubejs.recipe.component;
 import com.mojang.serialization.Codec;
 import dev.latvian.mods.kubejs.fluid.FluidWrapper;
 import dev.latvian.mods.kubejs.recipe.KubeRecipe;
+import dev.latvian.mods.kubejs.recipe.RecipeMatchIndex;
 import dev.latvian.mods.kubejs.recipe.match.FluidMatch;
 import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
 import dev.latvian.mods.rhino.Context;
@@ -12,6 +13,8 @@ import net.neoforged.neoforge.fluids.FluidStack;
 import net.neoforged.neoforge.fluids.crafting.FluidIngredient;
 import net.neoforged.neoforge.fluids.crafting.SizedFluidIngredient;
 
+import java.util.Set;
+
 public class SizedFluidIngredientComponent implements RecipeComponent<SizedFluidIngredient> {
 	public static final SizedFluidIngredientComponent FLAT = new SizedFluidIngredientComponent("flat_sized_fluid_ingredient", SizedFluidIngredient.FLAT_CODEC);
 	public static final SizedFluidIngredientComponent NESTED = new SizedFluidIngredientComponent("nested_sized_fluid_ingredient", SizedFluidIngredient.NESTED_CODEC);
@@ -44,6 +47,16 @@ public class SizedFluidIngredientComponent implements RecipeComponent<SizedFluid
 		return match.match() instanceof FluidMatch m && m.matches(cx, value.ingredient(), match.exact());
 	}
 
+	@Override
+	public boolean collectMatchKeys(SizedFluidIngredient value, Set<Object> keys) {
+		if (!value.ingredient().isSimple()) {
+			return false;
+		}
+
+		RecipeMatchIndex.collectFluidIngredient(value.ingredient(), keys);
+		return true;
+	}
+
 	@Override
 	public boolean isEmpty(SizedFluidIngredient value) {
 		return value.amount() <= 0 || value.ingredient().isEmpty();
@@ -11,6 +11,8 @@ import dev.latvian.mods.rhino.Context;
 import dev.latvian.mods.rhino.type.TypeInfo;
 import net.neoforged.neoforge.common.crafting.SizedIngredient;
 
+import java.util.Set;
+
 public class SizedIngredientComponent implements RecipeComponent<SizedIngredient> {
 	public static final SizedIngredientComponent FLAT = new SizedIngredientComponent("flat_sized_ingredient", SizedIngredient.FLAT_CODEC);
 	public static final SizedIngredientComponent NESTED = new SizedIngredientComponent("nested_sized_ingredient", SizedIngredient.NESTED_CODEC);
@@ -43,6 +45,11 @@ public class SizedIngredientComponent implements RecipeComponent<SizedIngredient
 		return match.match() instanceof ItemMatch m && m.matches(cx, value.ingredient(), match.exact());
 	}
 
+	@Override
+	public boolean collectMatchKeys(SizedIngredient value, Set<Object> keys) {
+		return IngredientComponent.INGREDIENT.collectMatchKeys(value.ingredient(), keys);
+	}
+
 	@Override
 	public boolean isEmpty(SizedIngredient value) {
 		return value.count() <= 0 || value.ingredient().isEmpty();
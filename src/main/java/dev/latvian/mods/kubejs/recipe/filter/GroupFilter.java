@@ -4,7 +4,7 @@ import dev.latvian.mods.kubejs.core.RecipeLikeKJS;
 import dev.latvian.mods.rhino.Context;
 
 public class GroupFilter implements RecipeFilter {
-	private final String group;
+	public final String group;
 
 	public GroupFilter(String g) {
 		group = g;
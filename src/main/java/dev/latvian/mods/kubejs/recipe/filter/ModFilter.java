@@ -4,7 +4,7 @@ import dev.latvian.mods.kubejs.core.RecipeLikeKJS;
 import dev.latvian.mods.rhino.Context;
 
 public class ModFilter implements RecipeFilter {
-	private final String mod;
+	public final String mod;
 
 	public ModFilter(String m) {
 		mod = m;
@@ -5,7 +5,7 @@ import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
 import dev.latvian.mods.rhino.Context;
 
 public class OutputFilter implements RecipeFilter {
-	private final ReplacementMatchInfo match;
+	public final ReplacementMatchInfo match;
 
 	public OutputFilter(ReplacementMatchInfo match) {
 		this.match = match;
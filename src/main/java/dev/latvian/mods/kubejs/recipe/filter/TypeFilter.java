@@ -5,7 +5,7 @@ import dev.latvian.mods.rhino.Context;
 import net.minecraft.resources.ResourceLocation;
 
 public class TypeFilter implements RecipeFilter {
-	private final ResourceLocation type;
+	public final ResourceLocation type;
 
 	public TypeFilter(ResourceLocation t) {
 		type = t;
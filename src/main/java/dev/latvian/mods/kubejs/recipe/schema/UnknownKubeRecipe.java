@@ -3,12 +3,15 @@ package dev.latvian.mods.kubejs.recipe.schema;
 import dev.latvian.mods.kubejs.CommonProperties;
 import dev.latvian.mods.kubejs.KubeJS;
 import dev.latvian.mods.kubejs.recipe.KubeRecipe;
+import dev.latvian.mods.kubejs.recipe.RecipeMatchIndex;
 import dev.latvian.mods.kubejs.recipe.match.ItemMatch;
 import dev.latvian.mods.kubejs.recipe.match.ReplacementMatchInfo;
 import dev.latvian.mods.rhino.Context;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 
+import java.util.Set;
+
 public class UnknownKubeRecipe extends KubeRecipe {
 	public static final KubeRecipeFactory RECIPE_FACTORY = new KubeRecipeFactory(KubeJS.id("unknown"), UnknownKubeRecipe.class, UnknownKubeRecipe::new);
 
@@ -72,4 +75,45 @@ public class UnknownKubeRecipe extends KubeRecipe {
 	public boolean replaceOutput(Context cx, ReplacementMatchInfo match, Object with) {
 		return false;
 	}
+
+	@Override
+	public boolean collectMatchKeys(Set<Object> keys, boolean output) {
+		if (!CommonProperties.get().matchJsonRecipes) {
+			return true;
+		}
+
+		var original = getOriginalRecipe();
+
+		if (original == null) {
+			return true;
+		}
+
+		if (output) {
+			var result = original.getResultItem(type.event.registries.access());
+
+			//noinspection ConstantValue
+			if (result != null && !result.isEmpty()) {
+				keys.add(result.getItem());
+			}
+		} else {
+			var arr = original.getIngredients();
+
+			//noinspection ConstantValue
+			if (arr == null) {
+				return true;
+			}
+
+			for (var ingredient : arr) {
+				if (ingredient != null && ingredient != Ingredient.EMPTY && ingredient.kjs$canBeUsedForMatching()) {
+					if (ingredient.isCustom()) {
+						return false;
+					}
+
+					RecipeMatchIndex.collectIngredient(ingredient, keys);
+				}
+			}
+		}
+
+		return true;
+	}
 }
\ No newline at end of file
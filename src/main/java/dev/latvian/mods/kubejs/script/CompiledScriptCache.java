@@ -0,0 +1,61 @@
+package dev.latvian.mods.kubejs.script;
+
+import dev.latvian.mods.kubejs.DevProperties;
+import dev.latvian.mods.rhino.Script;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled scripts of a script type, kept between reloads so unchanged files are only executed, not parsed and compiled again.
+ * <p>
+ * Files with the same size and last modified time aren't read again at all, their properties and hash are reused.
+ * Files that were touched but still have the same content hash reuse the compiled script.
+ */
+public class CompiledScriptCache {
+	public record Entry(long lastModified, long size, byte[] sourceHash, Map<String, List<String>> properties, @Nullable Script script) {
+		public boolean isUnchanged(long lastModified, long size) {
+			return this.lastModified == lastModified && this.size == size && lastModified != 0L;
+		}
+
+		public boolean hasSameSource(byte[] sourceHash) {
+			return Arrays.equals(this.sourceHash, sourceHash);
+		}
+	}
+
+	private final Map<String, Entry> entries;
+
+	public CompiledScriptCache() {
+		this.entries = new ConcurrentHashMap<>();
+	}
+
+	@Nullable
+	public Entry get(String location) {
+		return DevProperties.get().cacheCompiledScripts ? entries.get(location) : null;
+	}
+
+	public void put(String location, Entry entry) {
+		if (DevProperties.get().cacheCompiledScripts) {
+			entries.put(location, entry);
+		}
+	}
+
+	/**
+	 * Drops scripts that were deleted or skipped since last load
+	 */
+	public void retain(Set<String> locations) {
+		entries.keySet().retainAll(locations);
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+}
@@ -9,7 +9,6 @@ import dev.latvian.mods.kubejs.util.JSObjectType;
 import dev.latvian.mods.kubejs.util.LogType;
 import dev.latvian.mods.kubejs.util.MutedError;
 import dev.latvian.mods.kubejs.util.StackTraceCollector;
-import dev.latvian.mods.kubejs.util.TimeJS;
 import dev.latvian.mods.kubejs.util.UtilsJS;
 import dev.latvian.mods.kubejs.util.WrappedJS;
 import dev.latvian.mods.kubejs.web.JsonContent;
@@ -29,16 +28,10 @@ import org.slf4j.Logger;
 
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Modifier;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Calendar;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.function.Function;
@@ -82,9 +75,8 @@ public class ConsoleJS {
 	private String group;
 	private boolean muted;
 	private boolean debugEnabled;
-	private boolean writeToFile;
-	private final List<String> writeQueue;
-	private final Calendar calendar;
+	private volatile boolean writeToFile;
+	private final ConsoleLogWriter logWriter;
 	public WeakReference<ContextFactory> contextFactory;
 	public WSHandler<KJSHTTPRequest, KJSWSSession> wsBroadcaster;
 
@@ -99,8 +91,7 @@ public class ConsoleJS {
 		this.muted = false;
 		this.debugEnabled = false;
 		this.writeToFile = true;
-		this.writeQueue = new LinkedList<>();
-		this.calendar = Calendar.getInstance();
+		this.logWriter = new ConsoleLogWriter(logFile, log);
 	}
 
 	public Logger getLogger() {
@@ -163,13 +154,7 @@ public class ConsoleJS {
 		errors.clear();
 		warnings.clear();
 		KubeJSWeb.broadcastEvent(wsBroadcaster, "clear", "", null);
-		scriptType.executor.execute(() -> {
-			try {
-				Files.write(logFile, List.of());
-			} catch (Exception ex) {
-				logger.error("Failed to clear the log file: " + ex);
-			}
-		});
+		logWriter.reset();
 	}
 
 	private ConsoleLine line(LogType type, SourceLine sourceLine, Object object, @Nullable Throwable error) {
@@ -263,59 +248,25 @@ public class ConsoleJS {
 		return null;
 	}
 
-	public synchronized void writeToFile(LogType type, String line) {
+	public void writeToFile(LogType type, String line) {
 		writeToFile(type, System.currentTimeMillis(), line);
 	}
 
-	public synchronized void writeToFile(LogType type, long timestamp, String line) {
+	public void writeToFile(LogType type, long timestamp, String line) {
 		if (!writeToFile || PlatformWrapper.isGeneratingData()) {
 			return;
 		}
 
-		calendar.setTimeInMillis(timestamp);
-		var sb = new StringBuilder();
-
-		sb.append('[');
-		TimeJS.appendTimestamp(sb, calendar);
-		sb.append(']');
-		sb.append(' ');
-		sb.append('[');
-		sb.append(type);
-		sb.append(']');
-		sb.append(' ');
-
-		if (type == LogType.ERROR) {
-			sb.append('!');
-			sb.append(' ');
-		}
-
-		sb.append(line);
-		writeQueue.add(sb.toString());
+		logWriter.write(type, timestamp, line);
 	}
 
-	public synchronized void flush(boolean sync) {
-		if (writeQueue.isEmpty()) {
-			return;
-		}
-
-		var lines = Arrays.asList(writeQueue.toArray(UtilsJS.EMPTY_STRING_ARRAY));
-		writeQueue.clear();
+	public void flush(boolean sync) {
+		logWriter.flush(sync);
+	}
 
-		if (sync) {
-			try {
-				Files.write(logFile, lines, StandardOpenOption.APPEND);
-			} catch (Exception ex) {
-				logger.error("Failed to write to the log file: " + ex);
-			}
-		} else {
-			scriptType.executor.execute(() -> {
-				try {
-					Files.write(logFile, lines, StandardOpenOption.APPEND);
-				} catch (Exception ex) {
-					logger.error("Failed to write to the log file: " + ex);
-				}
-			});
-		}
+	@HideFromJS
+	public ConsoleLogWriter getLogWriter() {
+		return logWriter;
 	}
 
 	public void log(Object... message) {
@@ -0,0 +1,311 @@
+package dev.latvian.mods.kubejs.script;
+
+import dev.latvian.mods.kubejs.DevProperties;
+import dev.latvian.mods.kubejs.util.LogType;
+import dev.latvian.mods.kubejs.util.TimeJS;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Calendar;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Script log file writer. Any thread can log without locking - lines go into a bounded multi-producer ring buffer,
+ * which is drained in batches by {@link KubeJSBackgroundThread} (or by the logging thread itself if there is no writer running and the buffer is full).
+ * <p>
+ * Lines are formatted and encoded on the draining thread into a reusable direct buffer that is written to the log file channel.
+ * When the ring buffer is full, logging threads either wait for space or the line is dropped, depending on <code>log_queue_drop_when_full</code> dev property.
+ */
+public class ConsoleLogWriter {
+	static volatile Thread writerThread = null;
+
+	public static void wakeUpWriter() {
+		var t = writerThread;
+
+		if (t != null) {
+			LockSupport.unpark(t);
+		}
+	}
+
+	private final Path file;
+	private final Logger logger;
+
+	// ring buffer, type == null is a file reset marker
+	private final int mask;
+	private final int batchSize;
+	private final boolean dropWhenFull;
+	private final AtomicLongArray sequences;
+	private final LogType[] types;
+	private final long[] timestamps;
+	private final String[] lines;
+	private final AtomicLong tail;
+	private volatile long head;
+	private final AtomicLong dropped;
+
+	// only used by the thread holding drainLock
+	private final ReentrantLock drainLock;
+	private final ByteBuffer buffer;
+	private final CharsetEncoder encoder;
+	private final StringBuilder lineBuilder;
+	private final Calendar calendar;
+	private FileChannel channel;
+
+	public ConsoleLogWriter(Path file, Logger logger) {
+		this.file = file;
+		this.logger = logger;
+
+		var properties = DevProperties.get();
+		int capacity = Integer.highestOneBit(Math.max(64, Math.min(1 << 24, properties.logQueueSize - 1)) << 1);
+		this.mask = capacity - 1;
+		this.batchSize = Math.max(1, Math.min(capacity / 2, properties.logBatchSize));
+		this.dropWhenFull = properties.logQueueDropWhenFull;
+		this.sequences = new AtomicLongArray(capacity);
+		this.types = new LogType[capacity];
+		this.timestamps = new long[capacity];
+		this.lines = new String[capacity];
+		this.tail = new AtomicLong(0L);
+		this.head = 0L;
+		this.dropped = new AtomicLong(0L);
+
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+
+		this.drainLock = new ReentrantLock();
+		this.buffer = ByteBuffer.allocateDirect(1 << 16);
+		this.encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.lineBuilder = new StringBuilder();
+		this.calendar = Calendar.getInstance();
+	}
+
+	private boolean offer(LogType type, long timestamp, String line) {
+		long pos = tail.get();
+		int index;
+
+		while (true) {
+			index = (int) (pos & mask);
+			long diff = sequences.getAcquire(index) - pos;
+
+			if (diff == 0L) {
+				if (tail.compareAndSet(pos, pos + 1L)) {
+					break;
+				}
+
+				pos = tail.get();
+			} else if (diff < 0L) {
+				return false;
+			} else {
+				pos = tail.get();
+			}
+		}
+
+		types[index] = type;
+		timestamps[index] = timestamp;
+		lines[index] = line;
+		sequences.setRelease(index, pos + 1L);
+
+		if (pos + 1L - head == batchSize) {
+			wakeUpWriter();
+		}
+
+		return true;
+	}
+
+	private void add(LogType type, long timestamp, String line) {
+		while (!offer(type, timestamp, line)) {
+			if (dropWhenFull && type != null) {
+				dropped.incrementAndGet();
+				return;
+			} else if (drainLock.tryLock()) {
+				try {
+					drain0();
+				} finally {
+					drainLock.unlock();
+				}
+			} else {
+				wakeUpWriter();
+				LockSupport.parkNanos(50_000L);
+			}
+		}
+	}
+
+	public void write(LogType type, long timestamp, String line) {
+		add(type, timestamp, line);
+	}
+
+	/**
+	 * Clears the log file. Lines written before this are discarded, lines after it are kept
+	 */
+	public void reset() {
+		add(null, 0L, null);
+		wakeUpWriter();
+	}
+
+	/**
+	 * Writes all queued lines to the file
+	 *
+	 * @param sync if true, this thread writes them right away, otherwise the writer thread is woken up
+	 */
+	public void flush(boolean sync) {
+		if (!sync) {
+			wakeUpWriter();
+			return;
+		}
+
+		drainLock.lock();
+
+		try {
+			drain0();
+		} finally {
+			drainLock.unlock();
+		}
+	}
+
+	/**
+	 * Called periodically by the writer thread
+	 */
+	void drain() {
+		if (drainLock.tryLock()) {
+			try {
+				drain0();
+			} finally {
+				drainLock.unlock();
+			}
+		}
+	}
+
+	private void drain0() {
+		long h = head;
+
+		while (true) {
+			int index = (int) (h & mask);
+
+			if (sequences.getAcquire(index) != h + 1L) {
+				break;
+			}
+
+			var type = types[index];
+			var timestamp = timestamps[index];
+			var line = lines[index];
+			lines[index] = null;
+			types[index] = null;
+			sequences.setRelease(index, h + mask + 1L);
+			h++;
+			head = h;
+
+			if (type == null) {
+				buffer.clear();
+				truncate();
+			} else {
+				append(type, timestamp, line);
+			}
+		}
+
+		long d = dropped.getAndSet(0L);
+
+		if (d > 0L) {
+			append(LogType.WARN, System.currentTimeMillis(), d + " log lines were dropped because the log queue was full");
+		}
+
+		writeBuffer();
+	}
+
+	private void append(LogType type, long timestamp, String line) {
+		calendar.setTimeInMillis(timestamp);
+		var sb = lineBuilder;
+		sb.setLength(0);
+		sb.append('[');
+		TimeJS.appendTimestamp(sb, calendar);
+		sb.append(']');
+		sb.append(' ');
+		sb.append('[');
+		sb.append(type);
+		sb.append(']');
+		sb.append(' ');
+
+		if (type == LogType.ERROR) {
+			sb.append('!');
+			sb.append(' ');
+		}
+
+		sb.append(line);
+		sb.append('\n');
+
+		var chars = CharBuffer.wrap(sb);
+		encoder.reset();
+
+		while (encoder.encode(chars, buffer, true) == CoderResult.OVERFLOW) {
+			writeBuffer();
+		}
+
+		while (encoder.flush(buffer) == CoderResult.OVERFLOW) {
+			writeBuffer();
+		}
+
+		if (sb.length() > 1 << 16) {
+			sb.setLength(0);
+			sb.trimToSize();
+		}
+	}
+
+	private FileChannel channel() throws IOException {
+		if (channel == null || !channel.isOpen()) {
+			channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		}
+
+		return channel;
+	}
+
+	private void writeBuffer() {
+		if (buffer.position() == 0) {
+			return;
+		}
+
+		buffer.flip();
+
+		try {
+			var c = channel();
+
+			while (buffer.hasRemaining()) {
+				c.write(buffer);
+			}
+		} catch (Exception ex) {
+			logger.error("Failed to write to the log file: " + ex);
+			close();
+		}
+
+		buffer.clear();
+	}
+
+	private void truncate() {
+		try {
+			channel().truncate(0L);
+		} catch (Exception ex) {
+			logger.error("Failed to clear the log file: " + ex);
+			close();
+		}
+	}
+
+	private void close() {
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException ignored) {
+			}
+
+			channel = null;
+		}
+	}
+}
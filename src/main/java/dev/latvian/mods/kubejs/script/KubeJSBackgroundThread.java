@@ -1,9 +1,15 @@
 package dev.latvian.mods.kubejs.script;
 
+import dev.latvian.mods.kubejs.DevProperties;
+
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Writes queued script log lines to files, either every <code>log_flush_interval_ms</code> or as soon as a console queues a full batch
+ */
 public class KubeJSBackgroundThread extends Thread {
 	public static boolean running = true;
 
@@ -20,18 +26,18 @@ public class KubeJSBackgroundThread extends Thread {
 			type.executor = Executors.newSingleThreadExecutor();
 		}
 
+		ConsoleLogWriter.writerThread = this;
+
 		while (running) {
-			try {
-				Thread.sleep(3000);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
+			LockSupport.parkNanos(Math.max(10L, DevProperties.get().logFlushIntervalMs) * 1_000_000L);
 
 			for (var type : types) {
-				type.console.flush(false);
+				type.console.getLogWriter().drain();
 			}
 		}
 
+		ConsoleLogWriter.writerThread = null;
+
 		for (var type : types) {
 			type.console.flush(true);
 			((ExecutorService) type.executor).shutdown();
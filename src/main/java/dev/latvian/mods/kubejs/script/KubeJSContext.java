@@ -3,7 +3,6 @@ package dev.latvian.mods.kubejs.script;
 import com.mojang.datafixers.util.Either;
 import dev.latvian.mods.kubejs.KubeJS;
 import dev.latvian.mods.kubejs.holder.HolderWrapper;
-import dev.latvian.mods.kubejs.plugin.KubeJSPlugins;
 import dev.latvian.mods.kubejs.registry.RegistryType;
 import dev.latvian.mods.kubejs.util.ID;
 import dev.latvian.mods.kubejs.util.RegistryAccessContainer;
@@ -34,15 +33,7 @@ public class KubeJSContext extends Context {
 		super(factory);
 		this.kjsFactory = factory;
 		setApplicationClassLoader(KubeJS.class.getClassLoader());
-		this.topLevelScope = initSafeStandardObjects();
-
-		var bindingsEvent = new BindingRegistry(this, topLevelScope);
-
-		for (var plugin : KubeJSPlugins.getAll()) {
-			plugin.registerBindings(bindingsEvent);
-		}
-
-		KubeJSPlugins.addSidedBindings(bindingsEvent);
+		this.topLevelScope = KubeJSContextFactory.createChildScope(factory.getBindingScope(this));
 	}
 
 	@Override
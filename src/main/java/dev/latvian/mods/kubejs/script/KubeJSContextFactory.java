@@ -1,9 +1,59 @@
 package dev.latvian.mods.kubejs.script;
 
+import dev.latvian.mods.kubejs.plugin.KubeJSPlugins;
+import dev.latvian.mods.rhino.Context;
 import dev.latvian.mods.rhino.ContextFactory;
+import dev.latvian.mods.rhino.NativeObject;
+import dev.latvian.mods.rhino.Scriptable;
+import dev.latvian.mods.rhino.ScriptableObject;
 
 public class KubeJSContextFactory extends ContextFactory {
+	/**
+	 * Creates a new sealed scope with standard objects and bindings of all plugins
+	 */
+	public static Scriptable createBindingScope(KubeJSContext cx) {
+		var scope = cx.initSafeStandardObjects();
+		var bindingsEvent = new BindingRegistry(cx, scope);
+
+		for (var plugin : KubeJSPlugins.getAll()) {
+			plugin.registerBindings(bindingsEvent);
+		}
+
+		KubeJSPlugins.addSidedBindings(bindingsEvent);
+		seal(cx, scope);
+		return scope;
+	}
+
+	/**
+	 * Seals the scope and every JS object in it along with its prototype, e.g. <code>Object.prototype</code>, <code>JSON</code> and script objects registered as bindings.
+	 * Child scopes only keep top level assignments to themselves, changes to these objects would be seen by every context sharing the scope
+	 */
+	private static void seal(Context cx, ScriptableObject scope) {
+		for (var id : scope.getAllIds(cx)) {
+			if (id instanceof String name && scope.get(cx, name, scope) instanceof ScriptableObject object) {
+				object.sealObject(cx);
+
+				if (object.get(cx, "prototype", object) instanceof ScriptableObject prototype) {
+					prototype.sealObject(cx);
+				}
+			}
+		}
+
+		scope.sealObject(cx);
+	}
+
+	/**
+	 * Creates an empty scope on top of parent scope. Lookups fall through to parent, but all top level declarations and assignments stay in the new scope
+	 */
+	public static Scriptable createChildScope(Scriptable parent) {
+		var scope = new NativeObject();
+		scope.setPrototype(parent);
+		scope.setParentScope(null);
+		return scope;
+	}
+
 	public final ScriptManager manager;
+	private volatile Scriptable bindingScope;
 
 	public KubeJSContextFactory(ScriptManager manager) {
 		this.manager = manager;
@@ -13,4 +63,24 @@ public class KubeJSContextFactory extends ContextFactory {
 	protected KubeJSContext createContext() {
 		return manager.scriptType.isServer() ? new KubeJSServerContext(this) : new KubeJSContext(this);
 	}
+
+	/**
+	 * Scope with standard objects and bindings, built once by the first context and shared by all contexts of this factory as the parent of their own scope
+	 */
+	public Scriptable getBindingScope(KubeJSContext cx) {
+		var scope = bindingScope;
+
+		if (scope == null) {
+			synchronized (this) {
+				scope = bindingScope;
+
+				if (scope == null) {
+					scope = createBindingScope(cx);
+					bindingScope = scope;
+				}
+			}
+		}
+
+		return scope;
+	}
 }
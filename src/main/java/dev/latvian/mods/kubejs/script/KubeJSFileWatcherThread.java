@@ -1,57 +1,154 @@
 package dev.latvian.mods.kubejs.script;
 
+import dev.latvian.mods.kubejs.DevProperties;
+import org.jetbrains.annotations.Nullable;
+
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
+/**
+ * Watches script directory of a script type with a {@link WatchService}, including new files and directories.
+ * <p>
+ * Changes are collected until no more arrive for <code>file_watcher_debounce_ms</code>, so editors that save in several steps only cause one reload.
+ * Changed files are first offered to incremental reload, and if it can't handle them, scripts are fully reloaded.
+ */
 public class KubeJSFileWatcherThread extends Thread {
 	public final ScriptType scriptType;
 	public final ScriptFile[] files;
 	public final Runnable reload;
+	private final Predicate<Set<Path>> incrementalReload;
+	private final Map<WatchKey, Path> directories;
 
-	public KubeJSFileWatcherThread(ScriptType scriptType, ScriptFile[] files, Runnable reload) {
+	public KubeJSFileWatcherThread(ScriptType scriptType, ScriptFile[] files, Runnable reload, Predicate<Set<Path>> incrementalReload) {
 		super("KubeJS File Watcher");
 		setDaemon(true);
 		this.scriptType = scriptType;
 		this.files = files;
 		this.reload = reload;
+		this.incrementalReload = incrementalReload;
+		this.directories = new HashMap<>();
+	}
+
+	public KubeJSFileWatcherThread(ScriptType scriptType, ScriptFile[] files, Runnable reload) {
+		this(scriptType, files, reload, changed -> false);
+	}
+
+	public static boolean isScriptFile(Path path) {
+		var name = path.getFileName().toString();
+		return name.endsWith(".js") || name.endsWith(".ts") && !name.endsWith(".d.ts");
+	}
+
+	/**
+	 * Registers root and every directory below it, following symlinks like script loading does. Script files found along the way are added to scripts, if it isn't null.
+	 */
+	private void register(WatchService service, Path root, @Nullable Set<Path> scripts) throws IOException {
+		Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), 10, new SimpleFileVisitor<>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				directories.put(dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE), dir);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				if (attrs.isDirectory()) {
+					// reached max depth
+					return preVisitDirectory(file, attrs);
+				} else if (scripts != null && attrs.isRegularFile() && isScriptFile(file)) {
+					scripts.add(file);
+				}
+
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException ex) {
+				// symlink loops and broken links, nothing to watch there
+				return FileVisitResult.CONTINUE;
+			}
+		});
 	}
 
 	@Override
 	public void run() {
 		scriptType.console.info("#%08X Started watching %d files".formatted(hashCode(), files.length));
 
-		try {
-			Thread.sleep(3000);
-		} catch (InterruptedException e) {
-			e.printStackTrace();
-		}
+		try (var service = scriptType.path.getFileSystem().newWatchService()) {
+			register(service, scriptType.path, null);
+			long debounce = Math.max(0L, DevProperties.get().fileWatcherDebounceMs);
+			var changed = new LinkedHashSet<Path>();
 
-		while (scriptType.fileWatcherThread == this) {
-			try {
-				Thread.sleep(1000);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
+			while (scriptType.fileWatcherThread == this) {
+				var key = service.poll(1L, TimeUnit.SECONDS);
+
+				if (key == null) {
+					continue;
+				}
 
-			boolean changed = false;
+				// coalesce the burst of events caused by a single save
+				while (key != null) {
+					collect(service, key, changed);
+					key = debounce == 0L ? service.poll() : service.poll(debounce, TimeUnit.MILLISECONDS);
+				}
 
-			for (var file : files) {
-				try {
-					var ms = Files.getLastModifiedTime(file.info.path).toMillis();
+				if (changed.isEmpty() || scriptType.fileWatcherThread != this) {
+					changed.clear();
+					continue;
+				}
 
-					if (file.lastModified != ms) {
-						file.lastModified = ms;
-						changed = true;
-					}
-				} catch (IOException ex) {
+				if (incrementalReload.test(Set.copyOf(changed))) {
+					scriptType.console.info("#%08X Reloaded %d changed files".formatted(hashCode(), changed.size()));
+					changed.clear();
+				} else {
+					scriptType.console.info("#%08X File change detected, reloading scripts...".formatted(hashCode()));
+					reload.run();
+					return;
 				}
 			}
+		} catch (InterruptedException | ClosedWatchServiceException ignored) {
+		} catch (Exception ex) {
+			scriptType.console.error("File watcher failed", ex);
+		}
+	}
+
+	private void collect(WatchService service, WatchKey key, Set<Path> changed) throws IOException {
+		var dir = directories.get(key);
 
-			if (changed) {
-				scriptType.console.info("#%08X File change detected, reloading scripts...".formatted(hashCode()));
-				reload.run();
-				return;
+		for (var event : key.pollEvents()) {
+			if (dir == null || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				// lost track of which files changed, this only leads to a full reload
+				changed.add(scriptType.path);
+				continue;
 			}
+
+			var path = dir.resolve((Path) ((WatchEvent<?>) event).context());
+
+			if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+				register(service, path, changed);
+			} else if (isScriptFile(path)) {
+				changed.add(path);
+			}
+		}
+
+		if (!key.reset()) {
+			directories.remove(key);
 		}
 	}
 }
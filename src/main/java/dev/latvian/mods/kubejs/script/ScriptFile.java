@@ -2,9 +2,14 @@ package dev.latvian.mods.kubejs.script;
 
 import dev.latvian.mods.kubejs.CommonProperties;
 import dev.latvian.mods.kubejs.util.UtilsJS;
+import dev.latvian.mods.rhino.Script;
+import dev.latvian.mods.rhino.Scriptable;
 import net.neoforged.fml.ModList;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -26,38 +31,70 @@ public class ScriptFile implements Comparable<ScriptFile> {
 	private final Set<String> requiredMods;
 	public String[] lines;
 	public long lastModified;
+	public final long size;
+	public final byte[] sourceHash;
+	private Script script;
 
 	public ScriptFile(ScriptPack pack, ScriptFileInfo info) throws Exception {
 		this.pack = pack;
 		this.info = info;
 
-		this.properties = new HashMap<>();
 		this.priority = 0;
 		this.ignored = false;
 		this.packMode = "";
 		this.requiredMods = new HashSet<>(0);
 
-		this.lines = Files.readAllLines(info.path).toArray(UtilsJS.EMPTY_STRING_ARRAY);
+		long size;
 
 		try {
-			this.lastModified = Files.getLastModifiedTime(this.info.path).toMillis();
+			var attributes = Files.readAttributes(info.path, BasicFileAttributes.class);
+			this.lastModified = attributes.lastModifiedTime().toMillis();
+			size = attributes.size();
 		} catch (Exception ex) {
 			this.lastModified = 0L;
+			size = -1L;
 		}
 
-		for (int i = 0; i < lines.length; i++) {
-			var tline = lines[i].trim();
+		this.size = size;
+		var cached = pack.manager.scriptType.compiledScripts.get(info.location);
 
-			if (tline.isEmpty() || tline.startsWith("import ")) {
-				lines[i] = "";
-			} else if (tline.startsWith("//")) {
-				var matcher = PROPERTY_PATTERN.matcher(tline.substring(2).trim());
+		if (cached != null && cached.isUnchanged(lastModified, size)) {
+			this.lines = UtilsJS.EMPTY_STRING_ARRAY;
+			this.sourceHash = cached.sourceHash();
+			this.properties = cached.properties();
+			this.script = cached.script();
+		} else {
+			this.properties = new HashMap<>();
+			this.lines = Files.readAllLines(info.path).toArray(UtilsJS.EMPTY_STRING_ARRAY);
 
-				if (matcher.find()) {
-					properties.computeIfAbsent(matcher.group(1).trim(), k -> new ArrayList<>()).add(matcher.group(2).trim());
+			var digest = MessageDigest.getInstance("SHA-256");
+
+			for (var line : lines) {
+				digest.update(line.getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) '\n');
+			}
+
+			this.sourceHash = digest.digest();
+			this.script = cached != null && cached.hasSameSource(sourceHash) ? cached.script() : null;
+
+			for (int i = 0; i < lines.length; i++) {
+				var tline = lines[i].trim();
+
+				if (tline.isEmpty() || tline.startsWith("import ")) {
+					lines[i] = "";
+				} else if (tline.startsWith("//")) {
+					var matcher = PROPERTY_PATTERN.matcher(tline.substring(2).trim());
+
+					if (matcher.find()) {
+						properties.computeIfAbsent(matcher.group(1).trim(), k -> new ArrayList<>()).add(matcher.group(2).trim());
+					}
+
+					lines[i] = "";
 				}
+			}
 
-				lines[i] = "";
+			if (script != null) {
+				lines = UtilsJS.EMPTY_STRING_ARRAY;
 			}
 		}
 
@@ -68,8 +105,24 @@ public class ScriptFile implements Comparable<ScriptFile> {
 	}
 
 	public void load(KubeJSContext cx) throws Throwable {
-		cx.evaluateString(cx.topLevelScope, String.join("\n", lines), info.location, 1, null);
-		lines = UtilsJS.EMPTY_STRING_ARRAY; // free memory
+		load(cx, cx.topLevelScope);
+	}
+
+	public void load(KubeJSContext cx, Scriptable scope) throws Throwable {
+		if (script == null) {
+			script = cx.compileString(String.join("\n", lines), info.location, 1, null);
+			lines = UtilsJS.EMPTY_STRING_ARRAY; // free memory
+		}
+
+		pack.manager.scriptType.compiledScripts.put(info.location, new CompiledScriptCache.Entry(lastModified, size, sourceHash, properties, script));
+		script.exec(cx, scope, scope);
+	}
+
+	/**
+	 * @return true if the script is already compiled and will only be executed, see {@link CompiledScriptCache}
+	 */
+	public boolean isCompiled() {
+		return script != null;
 	}
 
 	public List<String> getProperties(String s) {
@@ -3,12 +3,15 @@ package dev.latvian.mods.kubejs.script;
 import com.google.gson.JsonObject;
 import dev.latvian.mods.kubejs.DevProperties;
 import dev.latvian.mods.kubejs.KubeJS;
+import dev.latvian.mods.kubejs.event.EventGroups;
 import dev.latvian.mods.kubejs.plugin.ClassFilter;
 import dev.latvian.mods.kubejs.plugin.KubeJSPlugin;
 import dev.latvian.mods.kubejs.plugin.KubeJSPlugins;
 import dev.latvian.mods.kubejs.util.LogType;
 import dev.latvian.mods.kubejs.util.RegistryAccessContainer;
 import dev.latvian.mods.kubejs.web.local.KubeJSWeb;
+import net.minecraft.Util;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
@@ -18,8 +21,13 @@ import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public class ScriptManager {
 	public final ScriptType scriptType;
@@ -27,6 +35,8 @@ public class ScriptManager {
 	private final ClassFilter classFilter;
 	public KubeJSContextFactory contextFactory;
 	public boolean canListenEvents;
+	// context scripts were loaded with, used to evaluate changed files again
+	private KubeJSContext scriptContext;
 
 	public ScriptManager(ScriptType t) {
 		scriptType = t;
@@ -115,8 +125,34 @@ public class ScriptManager {
 		if (Files.exists(path)) {
 			collectScripts(pack, path, "");
 
-			for (var fileInfo : pack.info.scripts) {
-				loadFile(pack, fileInfo);
+			var files = new ScriptFile[pack.info.scripts.size()];
+
+			if (files.length > 1 && DevProperties.get().parallelScriptReading) {
+				var futures = new CompletableFuture<?>[files.length];
+
+				for (int i = 0; i < files.length; i++) {
+					int index = i;
+					futures[i] = CompletableFuture.runAsync(() -> files[index] = readFile(pack, pack.info.scripts.get(index)), Util.backgroundExecutor());
+				}
+
+				CompletableFuture.allOf(futures).join();
+			} else {
+				for (int i = 0; i < files.length; i++) {
+					files[i] = readFile(pack, pack.info.scripts.get(i));
+				}
+			}
+
+			// added in the order they were found, so sorting by priority stays stable
+			for (var file : files) {
+				if (file != null) {
+					var skip = file.skipLoading();
+
+					if (skip.isEmpty()) {
+						pack.scripts.add(file);
+					} else {
+						scriptType.console.info("Skipped " + file.info.location + ": " + skip);
+					}
+				}
 			}
 
 			pack.scripts.sort(null);
@@ -125,18 +161,13 @@ public class ScriptManager {
 		packs.put(pack.info.namespace, pack);
 	}
 
-	private void loadFile(ScriptPack pack, ScriptFileInfo fileInfo) {
+	@Nullable
+	private ScriptFile readFile(ScriptPack pack, ScriptFileInfo fileInfo) {
 		try {
-			var file = new ScriptFile(pack, fileInfo);
-			var skip = file.skipLoading();
-
-			if (skip.isEmpty()) {
-				pack.scripts.add(file);
-			} else {
-				scriptType.console.info("Skipped " + fileInfo.location + ": " + skip);
-			}
+			return new ScriptFile(pack, fileInfo);
 		} catch (Throwable error) {
 			scriptType.console.error("Failed to pre-load script file '" + fileInfo.location + "'", error);
+			return null;
 		}
 	}
 
@@ -168,8 +199,11 @@ public class ScriptManager {
 
 		var i = 0;
 		var t = 0;
+		var compiled = 0;
+		var locations = new HashSet<String>();
 
 		var cx = (KubeJSContext) contextFactory.enter();
+		scriptContext = cx;
 
 		var watchingFiles = new ArrayList<ScriptFile>();
 
@@ -177,12 +211,19 @@ public class ScriptManager {
 			try {
 				for (var file : pack.scripts) {
 					t++;
+					locations.add(file.info.location);
 					var start = System.currentTimeMillis();
+					var cached = file.isCompiled();
 
 					try {
 						file.load(cx);
 						i++;
-						scriptType.console.info("Loaded script " + file.info.location + " in " + (System.currentTimeMillis() - start) / 1000D + " s");
+
+						if (cached) {
+							compiled++;
+						}
+
+						scriptType.console.info("Loaded script " + file.info.location + " in " + (System.currentTimeMillis() - start) / 1000D + " s" + (cached ? " (cached)" : ""));
 						watchingFiles.add(file);
 					} catch (Throwable ex) {
 						scriptType.console.error("", ex);
@@ -193,6 +234,12 @@ public class ScriptManager {
 			}
 		}
 
+		scriptType.compiledScripts.retain(locations);
+
+		if (compiled > 0) {
+			scriptType.console.info("Reused " + compiled + "/" + t + " compiled scripts");
+		}
+
 		loadAdditional();
 		long end = System.currentTimeMillis();
 		long ms = end - startAll;
@@ -200,8 +247,10 @@ public class ScriptManager {
 		scriptType.console.info("Loaded " + i + "/" + t + " KubeJS " + scriptType.name + " scripts in " + ms / 1000D + " s with " + scriptType.console.errors.size() + " errors and " + scriptType.console.warnings.size() + " warnings");
 		canListenEvents = false;
 
+		freezeEventHandlers();
+
 		if (!watchingFiles.isEmpty() && DevProperties.get().reloadOnFileSave) {
-			scriptType.fileWatcherThread = new KubeJSFileWatcherThread(scriptType, watchingFiles.toArray(new ScriptFile[0]), this::fullReload);
+			scriptType.fileWatcherThread = new KubeJSFileWatcherThread(scriptType, watchingFiles.toArray(new ScriptFile[0]), this::fullReload, this::reloadChanged);
 			scriptType.fileWatcherThread.start();
 		}
 
@@ -221,6 +270,112 @@ public class ScriptManager {
 		});
 	}
 
+	private void freezeEventHandlers() {
+		for (var group : EventGroups.ALL.get().map().values()) {
+			for (var handler : group.getHandlers().values()) {
+				handler.freeze(scriptType);
+			}
+		}
+	}
+
+	/**
+	 * @return true if scripts of this type can be reloaded one file at a time, by removing event handlers of the file and evaluating it again
+	 */
+	protected boolean canReloadIncrementally() {
+		return !scriptType.isServer() && DevProperties.get().incrementalScriptReload;
+	}
+
+	/**
+	 * Called by file watcher thread with changed files. Only handles changes to already loaded files, new or deleted files need a full reload.
+	 *
+	 * @return false if scripts have to be fully reloaded instead
+	 */
+	protected boolean reloadChanged(Set<Path> changed) {
+		if (scriptContext == null || !canReloadIncrementally()) {
+			return false;
+		}
+
+		var files = new ArrayList<ScriptFile>(changed.size());
+
+		for (var path : changed) {
+			var file = findFile(path);
+
+			if (file == null || Files.notExists(path)) {
+				return false;
+			}
+
+			files.add(file);
+		}
+
+		KubeJS.PROXY.runInMainThread(() -> reloadFiles(files));
+		return true;
+	}
+
+	@Nullable
+	private ScriptFile findFile(Path path) {
+		var p = path.toAbsolutePath().normalize();
+
+		for (var pack : packs.values()) {
+			for (var file : pack.scripts) {
+				if (file.info.path.toAbsolutePath().normalize().equals(p)) {
+					return file;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	private void reloadFiles(List<ScriptFile> files) {
+		var newFiles = new ArrayList<ScriptFile>(files.size());
+
+		for (var file : files) {
+			var newFile = readFile(file.pack, file.info);
+
+			// priority or skip properties changed, order of all scripts may be different now
+			if (newFile == null || newFile.getPriority() != file.getPriority() || !newFile.skipLoading().isEmpty()) {
+				fullReload();
+				return;
+			}
+
+			newFiles.add(newFile);
+		}
+
+		var cx = scriptContext;
+
+		for (int i = 0; i < files.size(); i++) {
+			var file = files.get(i);
+			var newFile = newFiles.get(i);
+
+			if (Arrays.equals(file.sourceHash, newFile.sourceHash)) {
+				continue;
+			}
+
+			for (var group : EventGroups.ALL.get().map().values()) {
+				for (var handler : group.getHandlers().values()) {
+					handler.removeListeners(scriptType, file.info.location);
+				}
+			}
+
+			var scripts = file.pack.scripts;
+			scripts.set(scripts.indexOf(file), newFile);
+			var start = System.currentTimeMillis();
+			canListenEvents = true;
+
+			try {
+				// own scope, so top level declarations of the file don't clash with the ones from its previous evaluation
+				newFile.load(cx, KubeJSContextFactory.createChildScope(cx.topLevelScope));
+				scriptType.console.info("Reloaded script " + newFile.info.location + " in " + (System.currentTimeMillis() - start) / 1000D + " s");
+			} catch (Throwable ex) {
+				scriptType.console.error("", ex);
+			} finally {
+				canListenEvents = false;
+			}
+		}
+
+		freezeEventHandlers();
+	}
+
 	public void loadAdditional() {
 	}
 
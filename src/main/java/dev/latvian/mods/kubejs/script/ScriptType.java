@@ -39,6 +39,7 @@ public enum ScriptType implements ScriptTypePredicate, ScriptTypeHolder {
 	public final Lazy<ClassFilter> classFilter;
 	public final Map<NativeEventListeners.Key, NativeEventListeners> nativeEventListeners;
 	public KubeJSFileWatcherThread fileWatcherThread;
+	public final CompiledScriptCache compiledScripts;
 
 	ScriptType(String n, String cname, Path path) {
 		this.name = n;
@@ -48,6 +49,7 @@ public enum ScriptType implements ScriptTypePredicate, ScriptTypeHolder {
 		this.executor = Runnable::run;
 		this.classFilter = Lazy.of(() -> KubeJSPlugins.createClassFilter(this));
 		this.nativeEventListeners = new HashMap<>(0);
+		this.compiledScripts = new CompiledScriptCache();
 	}
 
 	public Path getLogFile() {
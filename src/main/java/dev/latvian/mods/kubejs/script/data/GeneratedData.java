@@ -3,8 +3,8 @@ package dev.latvian.mods.kubejs.script.data;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import dev.latvian.mods.kubejs.KubeJS;
+import dev.latvian.mods.kubejs.util.ConcurrentLazy;
 import dev.latvian.mods.kubejs.util.JsonIO;
-import dev.latvian.mods.kubejs.util.Lazy;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.resources.IoSupplier;
 import org.jetbrains.annotations.NotNull;
@@ -16,9 +16,9 @@ import java.nio.file.Files;
 import java.util.function.Supplier;
 
 public record GeneratedData(ResourceLocation id, Supplier<byte[]> data) implements IoSupplier<InputStream> {
-	public static final GeneratedData INTERNAL_RELOAD = new GeneratedData(KubeJS.id("__internal.reload"), Lazy.of(() -> new byte[0]));
+	public static final GeneratedData INTERNAL_RELOAD = new GeneratedData(KubeJS.id("__internal.reload"), ConcurrentLazy.of(() -> new byte[0]));
 
-	public static final GeneratedData PACK_META = new GeneratedData(KubeJS.id("pack.mcmeta"), Lazy.of(() -> {
+	public static final GeneratedData PACK_META = new GeneratedData(KubeJS.id("pack.mcmeta"), ConcurrentLazy.of(() -> {
 		var json = new JsonObject();
 		var pack = new JsonObject();
 		pack.addProperty("description", "KubeJS Pack");
@@ -37,7 +37,28 @@ public record GeneratedData(ResourceLocation id, Supplier<byte[]> data) implemen
 	});
 
 	public static GeneratedData json(ResourceLocation id, Supplier<JsonElement> json) {
-		return new GeneratedData(id.getPath().endsWith(".json") ? id : ResourceLocation.fromNamespaceAndPath(id.getNamespace(), id.getPath() + ".json"), Lazy.of(() -> JsonIO.toString(json.get()).getBytes(StandardCharsets.UTF_8)));
+		return new GeneratedData(id.getPath().endsWith(".json") ? id : ResourceLocation.fromNamespaceAndPath(id.getNamespace(), id.getPath() + ".json"), ConcurrentLazy.of(() -> JsonIO.toString(json.get()).getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * File that may turn out to not exist once its data is computed, such as a texture whose operation failed. Data supplier returns null in that case
+	 */
+	public static GeneratedData optional(ResourceLocation id, Supplier<byte[]> data) {
+		return new GeneratedData(id, new OptionalData(ConcurrentLazy.of(data)));
+	}
+
+	private record OptionalData(Supplier<byte[]> data) implements Supplier<byte[]> {
+		@Override
+		public byte[] get() {
+			return data.get();
+		}
+	}
+
+	/**
+	 * Computes data of optional files, so only call this when the file is actually needed
+	 */
+	public boolean exists() {
+		return !(data instanceof OptionalData) || data.get() != null;
 	}
 
 	@Override
@@ -1,30 +1,50 @@
 package dev.latvian.mods.kubejs.script.data;
 
+import dev.latvian.mods.kubejs.client.GeneratedTextureCache;
 import dev.latvian.mods.kubejs.client.LoadedTexture;
 import dev.latvian.mods.kubejs.client.SoundsGenerator;
+import dev.latvian.mods.kubejs.client.TextureOperation;
 import dev.latvian.mods.kubejs.generator.KubeAssetGenerator;
 import dev.latvian.mods.kubejs.script.ScriptType;
+import dev.latvian.mods.kubejs.util.ConcurrentLazy;
+import dev.latvian.mods.rhino.util.HideFromJS;
 import net.minecraft.Util;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.PackType;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class VirtualAssetPack extends VirtualResourcePack implements KubeAssetGenerator {
-	private final Map<ResourceLocation, LoadedTexture> loadedTextures;
+	private final Map<ResourceLocation, Supplier<LoadedTexture>> loadedTextures;
+	private final Map<TextureKey, TextureOperation> textureOperations;
 	private final Map<String, SoundsGenerator> sounds;
 
 	public VirtualAssetPack(GeneratedDataStage stage) {
 		super(ScriptType.CLIENT, PackType.CLIENT_RESOURCES, stage);
-		loadedTextures = new HashMap<>();
-		sounds = new HashMap<>();
+		loadedTextures = new ConcurrentHashMap<>();
+		textureOperations = new ConcurrentHashMap<>();
+		sounds = new ConcurrentHashMap<>();
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		// source textures may have changed since last reload
+		loadedTextures.clear();
+		textureOperations.clear();
 	}
 
 	@Override
 	public LoadedTexture loadTexture(ResourceLocation id) {
-		return loadedTextures.computeIfAbsent(id, KubeAssetGenerator.super::loadTexture);
+		return loadedTextures.computeIfAbsent(id, k -> ConcurrentLazy.of(() -> LoadedTexture.load(k))).get();
+	}
+
+	@HideFromJS
+	public void cacheTexture(ResourceLocation id, Supplier<LoadedTexture> texture) {
+		loadedTextures.put(id, texture);
 	}
 
 	@Override
@@ -32,14 +52,26 @@ public class VirtualAssetPack extends VirtualResourcePack implements KubeAssetGe
 		KubeAssetGenerator.super.texture(target, texture);
 
 		if (texture.width > 0 && texture.height > 0) {
-			loadedTextures.put(target, texture);
+			cacheTexture(target, () -> texture);
 		}
 	}
 
+	@Override
+	public void texture(ResourceLocation target, Supplier<LoadedTexture> texture, boolean animated) {
+		KubeAssetGenerator.super.texture(target, texture, animated);
+		cacheTexture(target, texture);
+	}
+
+	@Override
+	public Supplier<LoadedTexture> lazyTexture(TextureKey key, Supplier<LoadedTexture> factory) {
+		return textureOperations.computeIfAbsent(key, k -> new TextureOperation(k, factory, GeneratedTextureCache.INSTANCE, this));
+	}
+
 	@Override
 	public void close() {
 		super.close();
 		loadedTextures.clear();
+		textureOperations.clear();
 	}
 
 	@Override
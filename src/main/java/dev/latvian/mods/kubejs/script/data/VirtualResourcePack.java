@@ -19,10 +19,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class VirtualResourcePack extends AbstractPackResources implements KubeResourceGenerator, ExportablePackResources {
 	public final ScriptType scriptType;
@@ -42,9 +42,10 @@ public class VirtualResourcePack extends AbstractPackResources implements KubeRe
 		this.info = stage.displayName + ", " + packType.getDirectory();
 		this.component = Component.empty().append(TextIcons.NAME).append(" (" + info + ", )");
 
-		this.locationToData = new HashMap<>();
-		this.pathToData = new HashMap<>();
-		this.namespaces = new HashSet<>();
+		// assets may be generated and served from several threads at once
+		this.locationToData = new ConcurrentHashMap<>();
+		this.pathToData = new ConcurrentHashMap<>();
+		this.namespaces = ConcurrentHashMap.newKeySet();
 	}
 
 	public void reset() {
@@ -89,7 +90,7 @@ public class VirtualResourcePack extends AbstractPackResources implements KubeRe
 
 		var s = locationToData.get(location);
 
-		if (s != null) {
+		if (s != null && s.exists()) {
 			if (DevProperties.get().virtualPackOutput) {
 				scriptType.console.info("Served virtual file [" + info + "] '" + location + "': " + s);
 			}
@@ -106,9 +107,20 @@ public class VirtualResourcePack extends AbstractPackResources implements KubeRe
 			path = path + "/";
 		}
 
-		for (ResourceLocation r : locationToData.keySet()) {
-			if (r.getNamespace().equals(namespace) && r.getPath().startsWith(path)) {
-				visitor.accept(r, getResource(packType, r));
+		var found = new ArrayList<GeneratedData>();
+
+		for (var data : locationToData.values()) {
+			if (data.id().getNamespace().equals(namespace) && data.id().getPath().startsWith(path)) {
+				found.add(data);
+			}
+		}
+
+		// optional files such as lazy textures have to be computed to tell if they exist, do that in parallel rather than one by one
+		for (var data : found.size() > 1 ? found.parallelStream().filter(GeneratedData::exists).toList() : found) {
+			var resource = getResource(packType, data.id());
+
+			if (resource != null) {
+				visitor.accept(data.id(), resource);
 			}
 		}
 	}
@@ -142,6 +154,10 @@ public class VirtualResourcePack extends AbstractPackResources implements KubeRe
 	@Override
 	public void export(Path root) throws IOException {
 		for (var file : pathToData.entrySet()) {
+			if (!file.getValue().exists()) {
+				continue;
+			}
+
 			var path = root.resolve(file.getKey());
 			var parent = path.getParent();
 
@@ -7,6 +7,7 @@ import dev.latvian.mods.kubejs.command.CommandRegistryKubeEvent;
 import dev.latvian.mods.kubejs.command.KubeJSCommands;
 import dev.latvian.mods.kubejs.gui.chest.CustomChestMenu;
 import dev.latvian.mods.kubejs.level.SimpleLevelKubeEvent;
+import dev.latvian.mods.kubejs.recipe.CachedTagLookup;
 import dev.latvian.mods.kubejs.script.PlatformWrapper;
 import dev.latvian.mods.kubejs.script.ScriptType;
 import dev.latvian.mods.kubejs.util.RegistryAccessContainer;
@@ -112,6 +113,7 @@ public class KubeJSServerEventHandler {
 	@SubscribeEvent
 	public static void serverStopped(ServerStoppedEvent event) {
 		RegistryAccessContainer.current = RegistryAccessContainer.BUILTIN;
+		CachedTagLookup.clearPrevious();
 	}
 
 	@SubscribeEvent
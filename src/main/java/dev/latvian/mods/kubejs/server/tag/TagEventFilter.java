@@ -9,6 +9,7 @@ import net.minecraft.tags.TagEntry;
 import net.minecraft.tags.TagLoader;
 import net.minecraft.util.ExtraCodecs;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -76,17 +77,29 @@ public interface TagEventFilter {
 		return Stream.of(this);
 	}
 
-	default int add(TagWrapper wrapper) {
-		int count = 0;
+	/**
+	 * @return ids of all registry elements that this filter matches
+	 */
+	default Collection<ResourceLocation> findElementIds(TagKubeEvent event) {
+		var list = new ArrayList<ResourceLocation>();
 
-		for (var id : wrapper.event.getElementIds()) {
+		for (var id : event.getElementIds()) {
 			if (testElementId(id)) {
-				wrapper.entries.add(new TagLoader.EntryWithSource(TagEntry.element(id), TagKubeEvent.SOURCE));
-				count++;
+				list.add(id);
 			}
 		}
 
-		return count;
+		return list;
+	}
+
+	default int add(TagWrapper wrapper) {
+		var ids = findElementIds(wrapper.event);
+
+		for (var id : ids) {
+			wrapper.entries.add(new TagLoader.EntryWithSource(TagEntry.element(id), TagKubeEvent.SOURCE));
+		}
+
+		return ids.size();
 	}
 
 	default int remove(TagWrapper wrapper) {
@@ -245,12 +258,77 @@ public interface TagEventFilter {
 		public boolean testElementId(ResourceLocation id) {
 			return id.getNamespace().equals(namespace);
 		}
+
+		@Override
+		public Collection<ResourceLocation> findElementIds(TagKubeEvent event) {
+			return event.getElementIds(namespace);
+		}
 	}
 
 	record RegEx(Pattern pattern) implements TagEventFilter {
+		private static final int UNSUPPORTED_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.COMMENTS | Pattern.LITERAL;
+
+		private static boolean isLiteral(char c) {
+			return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '-' || c == '/' || c == ':';
+		}
+
+		/**
+		 * @return literal text that every match starts with, if the pattern is anchored with ^, otherwise empty string
+		 */
+		private static String anchoredPrefix(String p) {
+			if (!p.startsWith("^") || p.indexOf('|') != -1) {
+				return "";
+			}
+
+			var sb = new StringBuilder();
+
+			for (int i = 1; i < p.length(); i++) {
+				char c = p.charAt(i);
+
+				if (c == '\\' && i + 1 < p.length() && !Character.isLetterOrDigit(p.charAt(i + 1))) {
+					c = p.charAt(++i);
+				} else if (!isLiteral(c)) {
+					// last character is optional
+					if (!sb.isEmpty() && (c == '?' || c == '*' || c == '{')) {
+						sb.setLength(sb.length() - 1);
+					}
+
+					break;
+				}
+
+				sb.append(c);
+			}
+
+			return sb.toString();
+		}
+
+		private static boolean isLiteral(String p) {
+			for (int i = 0; i < p.length(); i++) {
+				if (!isLiteral(p.charAt(i))) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
 		@Override
 		public boolean testElementId(ResourceLocation id) {
 			return pattern.matcher(id.toString()).find();
 		}
+
+		@Override
+		public Collection<ResourceLocation> findElementIds(TagKubeEvent event) {
+			var key = RegExpKJS.toRegExpString(pattern);
+			var p = pattern.pattern();
+
+			if ((pattern.flags() & UNSUPPORTED_FLAGS) != 0) {
+				return event.findElementIds(key, "", s -> pattern.matcher(s).find());
+			} else if (isLiteral(p)) {
+				return event.findElementIds(key, "", s -> s.contains(p));
+			} else {
+				return event.findElementIds(key, anchoredPrefix(p), s -> pattern.matcher(s).find());
+			}
+		}
 	}
 }
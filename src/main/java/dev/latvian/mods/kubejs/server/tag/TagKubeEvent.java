@@ -12,10 +12,15 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.TagLoader;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class TagKubeEvent implements KubeEvent {
@@ -45,6 +50,11 @@ public class TagKubeEvent implements KubeEvent {
 	public int totalRemoved;
 	private Set<ResourceLocation> elementIds;
 
+	// element ids sorted by their string form, so namespace and prefix lookups are a binary search
+	private List<ResourceLocation> sortedElementIds;
+	private String[] sortedElementIdStrings;
+	private Map<String, List<ResourceLocation>> filterCache;
+
 	public TagKubeEvent(ResourceKey<?> registryKey, Registry<?> vr) {
 		this.registryKey = registryKey;
 		this.vanillaRegistry = vr;
@@ -93,6 +103,87 @@ public class TagKubeEvent implements KubeEvent {
 		return elementIds;
 	}
 
+	private record SortedId(String string, ResourceLocation id) {
+	}
+
+	private void buildElementIdIndex() {
+		if (sortedElementIds == null) {
+			var sorted = new ArrayList<SortedId>(getElementIds().size());
+
+			for (var id : getElementIds()) {
+				sorted.add(new SortedId(id.toString(), id));
+			}
+
+			sorted.sort(Comparator.comparing(SortedId::string));
+
+			var ids = new ResourceLocation[sorted.size()];
+			sortedElementIdStrings = new String[sorted.size()];
+
+			for (int i = 0; i < ids.length; i++) {
+				sortedElementIdStrings[i] = sorted.get(i).string;
+				ids[i] = sorted.get(i).id;
+			}
+
+			sortedElementIds = Arrays.asList(ids);
+			filterCache = new HashMap<>();
+		}
+	}
+
+	private int lowerBound(String key) {
+		int i = Arrays.binarySearch(sortedElementIdStrings, key);
+		return i < 0 ? -i - 1 : i;
+	}
+
+	/**
+	 * @return all element ids whose string form starts with the given prefix, in string order
+	 */
+	public List<ResourceLocation> getElementIdsStartingWith(String prefix) {
+		buildElementIdIndex();
+
+		if (prefix.isEmpty()) {
+			return sortedElementIds;
+		}
+
+		return sortedElementIds.subList(lowerBound(prefix), lowerBound(prefix + Character.MAX_VALUE));
+	}
+
+	public List<ResourceLocation> getElementIds(String namespace) {
+		return getElementIdsStartingWith(namespace + ':');
+	}
+
+	/**
+	 * Finds and caches element ids that start with prefix and match the test. The result is reused for every filter with the same key until the end of this event
+	 */
+	public List<ResourceLocation> findElementIds(String key, String prefix, Predicate<String> test) {
+		buildElementIdIndex();
+
+		var cached = filterCache.get(key);
+
+		if (cached != null) {
+			return cached;
+		}
+
+		int from = 0;
+		int to = sortedElementIdStrings.length;
+
+		if (!prefix.isEmpty()) {
+			from = lowerBound(prefix);
+			to = lowerBound(prefix + Character.MAX_VALUE);
+		}
+
+		var list = new ArrayList<ResourceLocation>();
+
+		for (int i = from; i < to; i++) {
+			if (test.test(sortedElementIdStrings[i])) {
+				list.add(sortedElementIds.get(i));
+			}
+		}
+
+		var result = List.copyOf(list);
+		filterCache.put(key, result);
+		return result;
+	}
+
 	void gatherIdsFor(TagWrapper excluded, Collection<ResourceLocation> collection, TagLoader.EntryWithSource entry) {
 		var id = entry.entry().elementOrTag();
 
@@ -0,0 +1,135 @@
+package dev.latvian.mods.kubejs.text.tooltip;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.crafting.Ingredient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tooltips bucketed by item. Tooltips filtered by plain items are only looked at for those items,
+ * the rest (no filter, tags, custom ingredients) are checked for every item. Candidate list of each item is resolved once and kept until tooltips are reloaded.
+ */
+public final class ItemTooltipIndex {
+	public static final ItemTooltipIndex EMPTY = new ItemTooltipIndex(List.of());
+
+	/**
+	 * @param test if the filter still has to be tested against the stack
+	 */
+	public record Entry(ItemTooltipData tooltip, boolean test) {
+	}
+
+	private static final Entry[] NO_ENTRIES = new Entry[0];
+
+	public final List<ItemTooltipData> tooltips;
+	private final Map<Item, IntArrayList> byItem;
+	private final int[] other;
+	private final Map<Item, Entry[]> resolved;
+
+	public ItemTooltipIndex(List<ItemTooltipData> tooltips) {
+		this.tooltips = tooltips;
+		this.byItem = new Reference2ObjectOpenHashMap<>();
+		this.resolved = new ConcurrentHashMap<>();
+
+		var other = new IntArrayList();
+
+		for (int i = 0; i < tooltips.size(); i++) {
+			var filter = tooltips.get(i).filter();
+
+			if (filter.isEmpty()) {
+				other.add(i);
+				continue;
+			}
+
+			var items = itemsOf(filter.get());
+
+			if (items == null) {
+				other.add(i);
+			} else {
+				for (var item : items) {
+					var list = byItem.computeIfAbsent(item, k -> new IntArrayList(1));
+
+					// same item listed twice in one filter
+					if (list.isEmpty() || list.getInt(list.size() - 1) != i) {
+						list.add(i);
+					}
+				}
+			}
+		}
+
+		this.other = other.toIntArray();
+	}
+
+	/**
+	 * @return items of an ingredient that only matches by item, or null if it has tags or is custom
+	 */
+	private static List<Item> itemsOf(Ingredient ingredient) {
+		if (ingredient.isCustom()) {
+			return null;
+		}
+
+		var values = ingredient.getValues();
+		var items = new ArrayList<Item>(values.length);
+
+		for (var value : values) {
+			if (value instanceof Ingredient.ItemValue itemValue) {
+				items.add(itemValue.item().getItem());
+			} else {
+				return null;
+			}
+		}
+
+		return items;
+	}
+
+	public boolean isEmpty() {
+		return tooltips.isEmpty();
+	}
+
+	/**
+	 * @return tooltips that may apply to this item, in registration order
+	 */
+	public Entry[] get(Item item) {
+		if (tooltips.isEmpty()) {
+			return NO_ENTRIES;
+		}
+
+		var entries = resolved.get(item);
+
+		if (entries == null) {
+			entries = resolve(item);
+			resolved.put(item, entries);
+		}
+
+		return entries;
+	}
+
+	private Entry[] resolve(Item item) {
+		var exact = byItem.get(item);
+		int exactSize = exact == null ? 0 : exact.size();
+
+		if (exactSize + other.length == 0) {
+			return NO_ENTRIES;
+		}
+
+		var entries = new Entry[exactSize + other.length];
+		int e = 0;
+		int o = 0;
+
+		// both index lists are sorted, merge them to keep registration order
+		for (int i = 0; i < entries.length; i++) {
+			if (o >= other.length || e < exactSize && exact.getInt(e) < other[o]) {
+				entries[i] = new Entry(tooltips.get(exact.getInt(e++)), false);
+			} else {
+				var tooltip = tooltips.get(other[o++]);
+				entries[i] = new Entry(tooltip, tooltip.filter().isPresent());
+			}
+		}
+
+		return entries;
+	}
+}
@@ -0,0 +1,37 @@
+package dev.latvian.mods.kubejs.util;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe variant of {@link Lazy} for values computed on resource loading threads, such as generated pack files.
+ * Only the first call computes the value, other threads wait for it, and once computed it is read without locking.
+ */
+public final class ConcurrentLazy<T> implements Supplier<T> {
+	public static <T> ConcurrentLazy<T> of(Supplier<T> supplier) {
+		return new ConcurrentLazy<>(supplier);
+	}
+
+	private Supplier<T> factory;
+	private T value;
+	private volatile boolean computed;
+
+	private ConcurrentLazy(Supplier<T> factory) {
+		this.factory = factory;
+	}
+
+	@Override
+	public T get() {
+		if (!computed) {
+			synchronized (this) {
+				if (!computed) {
+					value = factory.get();
+					computed = true;
+					// let captured state be collected
+					factory = null;
+				}
+			}
+		}
+
+		return value;
+	}
+}
@@ -0,0 +1,113 @@
+package dev.latvian.mods.kubejs.util;
+
+import com.google.gson.JsonObject;
+import dev.latvian.mods.kubejs.DevProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Concurrent cache of objects parsed from strings, bounded by <code>parse_cache_size</code> dev property.
+ * <p>
+ * Entries live in two generations - once the newer one is full, the older one is dropped and the newer one takes its place, so entries that keep being used survive while the rest are evicted.
+ * Mutable values are copied with copier both when stored and when returned, so callers can never change a cached value.
+ */
+public final class ParseCache<V> {
+	public final String name;
+	private final int generationSize;
+	private final UnaryOperator<V> copier;
+	private volatile Map<String, V> young;
+	private volatile Map<String, V> old;
+	private final LongAdder hits;
+	private final LongAdder misses;
+	private final LongAdder evictions;
+
+	public ParseCache(String name, UnaryOperator<V> copier) {
+		this.name = name;
+		this.generationSize = Math.max(16, DevProperties.get().parseCacheSize / 2);
+		this.copier = copier;
+		this.young = new ConcurrentHashMap<>();
+		this.old = Map.of();
+		this.hits = new LongAdder();
+		this.misses = new LongAdder();
+		this.evictions = new LongAdder();
+	}
+
+	public ParseCache(String name) {
+		this(name, UnaryOperator.identity());
+	}
+
+	public V get(String key, Function<String, V> parser) {
+		var y = young;
+		var value = y.get(key);
+
+		if (value == null) {
+			value = old.get(key);
+
+			if (value != null) {
+				put(y, key, value);
+			}
+		}
+
+		if (value != null) {
+			hits.increment();
+			return copier.apply(value);
+		}
+
+		misses.increment();
+		value = parser.apply(key);
+
+		if (value != null) {
+			put(y, key, copier.apply(value));
+		}
+
+		return value;
+	}
+
+	private void put(Map<String, V> y, String key, V value) {
+		y.put(key, value);
+
+		if (y.size() >= generationSize) {
+			synchronized (this) {
+				if (young == y) {
+					evictions.add(old.size());
+					old = y;
+					young = new ConcurrentHashMap<>();
+				}
+			}
+		}
+	}
+
+	public int size() {
+		return young.size() + old.size();
+	}
+
+	public void clear() {
+		synchronized (this) {
+			young = new ConcurrentHashMap<>();
+			old = Map.of();
+		}
+	}
+
+	public JsonObject toJson() {
+		var json = new JsonObject();
+		long h = hits.sum();
+		long m = misses.sum();
+		json.addProperty("name", name);
+		json.addProperty("size", size());
+		json.addProperty("max_size", generationSize * 2);
+		json.addProperty("hits", h);
+		json.addProperty("misses", m);
+		json.addProperty("evictions", evictions.sum());
+		json.addProperty("hit_rate", h + m == 0L ? 0D : h / (double) (h + m));
+		return json;
+	}
+
+	@Override
+	public String toString() {
+		return "ParseCache[" + name + ", " + size() + "]";
+	}
+}
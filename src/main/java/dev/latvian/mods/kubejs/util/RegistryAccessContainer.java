@@ -6,7 +6,9 @@ import com.mojang.serialization.Codec;
 import com.mojang.serialization.JavaOps;
 import com.mojang.serialization.JsonOps;
 import com.mojang.serialization.MapCodec;
+import dev.latvian.mods.kubejs.DevProperties;
 import dev.latvian.mods.kubejs.bindings.RegistryWrapper;
+import dev.latvian.mods.kubejs.block.state.BlockStatePredicate;
 import dev.latvian.mods.kubejs.recipe.CachedItemTagLookup;
 import dev.latvian.mods.kubejs.recipe.CachedTagLookup;
 import dev.latvian.mods.kubejs.script.ConsoleJS;
@@ -27,9 +29,13 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.TagLoader;
 import net.minecraft.world.damagesource.DamageSources;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.material.Fluid;
 import net.neoforged.neoforge.common.conditions.ICondition;
+import net.neoforged.neoforge.fluids.FluidStack;
+import net.neoforged.neoforge.fluids.crafting.FluidIngredient;
+import net.neoforged.neoforge.fluids.crafting.SizedFluidIngredient;
 import org.jetbrains.annotations.ApiStatus;
 
 import java.util.ArrayList;
@@ -54,7 +60,12 @@ public final class RegistryAccessContainer implements ICondition.IContext {
 	private final RegistryOps<JsonElement> json;
 	private final RegistryOps<Object> java;
 	private DamageSources damageSources;
-	private final Map<String, ItemStack> itemStackParseCache;
+	private final ParseCache<ItemStack> itemStackParseCache;
+	private final ParseCache<Ingredient> ingredientParseCache;
+	private final ParseCache<FluidStack> fluidStackParseCache;
+	private final ParseCache<FluidIngredient> fluidIngredientParseCache;
+	private final ParseCache<SizedFluidIngredient> sizedFluidIngredientParseCache;
+	private final ParseCache<BlockStatePredicate> blockStatePredicateParseCache;
 	public final Map<ResourceKey<?>, CachedTagLookup.Entry<?>> cachedRegistryTags;
 	public CachedItemTagLookup cachedItemTags;
 	public CachedTagLookup<Block> cachedBlockTags;
@@ -67,7 +78,12 @@ public final class RegistryAccessContainer implements ICondition.IContext {
 		this.json = access.createSerializationContext(JsonOps.INSTANCE);
 		this.java = access.createSerializationContext(JavaOps.INSTANCE);
 		this.damageSources = null;
-		this.itemStackParseCache = new HashMap<>();
+		this.itemStackParseCache = new ParseCache<>("item_stack", ItemStack::copy);
+		this.ingredientParseCache = new ParseCache<>("ingredient");
+		this.fluidStackParseCache = new ParseCache<>("fluid_stack", FluidStack::copy);
+		this.fluidIngredientParseCache = new ParseCache<>("fluid_ingredient");
+		this.sizedFluidIngredientParseCache = new ParseCache<>("sized_fluid_ingredient");
+		this.blockStatePredicateParseCache = new ParseCache<>("block_state_predicate");
 		this.cachedRegistryTags = new Reference2ObjectOpenHashMap<>();
 	}
 
@@ -95,12 +111,37 @@ public final class RegistryAccessContainer implements ICondition.IContext {
 		return damageSources;
 	}
 
-	public Map<String, ItemStack> itemStackParseCache() {
+	public ParseCache<ItemStack> itemStackParseCache() {
 		return itemStackParseCache;
 	}
 
+	public ParseCache<Ingredient> ingredientParseCache() {
+		return ingredientParseCache;
+	}
+
+	public ParseCache<FluidStack> fluidStackParseCache() {
+		return fluidStackParseCache;
+	}
+
+	public ParseCache<FluidIngredient> fluidIngredientParseCache() {
+		return fluidIngredientParseCache;
+	}
+
+	public ParseCache<SizedFluidIngredient> sizedFluidIngredientParseCache() {
+		return sizedFluidIngredientParseCache;
+	}
+
+	public ParseCache<BlockStatePredicate> blockStatePredicateParseCache() {
+		return blockStatePredicateParseCache;
+	}
+
+	public List<ParseCache<?>> parseCaches() {
+		return List.of(itemStackParseCache, ingredientParseCache, fluidStackParseCache, fluidIngredientParseCache, sizedFluidIngredientParseCache, blockStatePredicateParseCache);
+	}
+
 	// Currently this is the best way I can think of to have tags available at the time of recipe loading
-	public synchronized <T> void cacheTags(Registry<T> registry, Map<ResourceLocation, List<TagLoader.EntryWithSource>> map) {
+	// Called from tag loader threads, one per registry, so only storing the lookup is synchronized
+	public <T> void cacheTags(Registry<T> registry, Map<ResourceLocation, List<TagLoader.EntryWithSource>> map) {
 		var key1 = registry == null ? null : (ResourceKey) registry.key();
 
 		if (key1 == null) {
@@ -108,17 +149,23 @@ public final class RegistryAccessContainer implements ICondition.IContext {
 		}
 
 		try {
-			if (key1 == Registries.ITEM) {
-				cachedItemTags = Cast.to(new CachedItemTagLookup((Registry) registry, map));
-				cachedRegistryTags.put(key1, new CachedTagLookup.Entry(key1, registry, cachedItemTags));
-			} else if (key1 == Registries.BLOCK) {
-				cachedBlockTags = Cast.to(new CachedTagLookup<>(registry, map));
-				cachedRegistryTags.put(key1, new CachedTagLookup.Entry(key1, registry, cachedBlockTags));
-			} else if (key1 == Registries.FLUID) {
-				cachedFluidTags = Cast.to(new CachedTagLookup<>(registry, map));
-				cachedRegistryTags.put(key1, new CachedTagLookup.Entry(key1, registry, cachedFluidTags));
-			} else {
-				cachedRegistryTags.put(key1, new CachedTagLookup.Entry(key1, registry, new CachedTagLookup<>(registry, map)));
+			CachedTagLookup<T> lookup = key1 == Registries.ITEM ? Cast.to(new CachedItemTagLookup((Registry) registry, map)) : new CachedTagLookup<>(registry, map);
+
+			if (DevProperties.get().earlyTagLookups) {
+				// resolve tags now, in parallel with other registries, instead of later during recipe loading
+				lookup.keyToValue();
+			}
+
+			synchronized (this) {
+				if (key1 == Registries.ITEM) {
+					cachedItemTags = Cast.to(lookup);
+				} else if (key1 == Registries.BLOCK) {
+					cachedBlockTags = Cast.to(lookup);
+				} else if (key1 == Registries.FLUID) {
+					cachedFluidTags = Cast.to(lookup);
+				}
+
+				cachedRegistryTags.put(key1, new CachedTagLookup.Entry(key1, registry, lookup));
 			}
 		} catch (Exception ex) {
 			ConsoleJS.SERVER.error("Error caching tags for " + key1, ex);
@@ -9,18 +9,19 @@ import dev.latvian.mods.rhino.Scriptable;
 import dev.latvian.mods.rhino.ScriptableObject;
 import dev.latvian.mods.rhino.Undefined;
 import dev.latvian.mods.rhino.type.TypeInfo;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 
 import java.time.Duration;
 import java.time.temporal.TemporalAmount;
-import java.util.LinkedList;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+/**
+ * Scheduled callbacks, kept in hierarchical timing wheels (one for tick timers, one for millisecond timers),
+ * so scheduling and clearing is O(1) and each tick only visits timers that are due.
+ */
 public class ScheduledEvents {
 	public static class ScheduledEvent {
-		private static final Predicate<ScheduledEvent> TICK = ScheduledEvent::tick;
-
 		public ScheduledEvents scheduledEvents;
 		public int id;
 		public boolean ofTicks;
@@ -29,8 +30,14 @@ public class ScheduledEvents {
 		public long endTime;
 		public transient Callback callback;
 
+		// intrusive timing wheel list node
+		private transient int slot = TimerWheel.NONE;
+		private transient ScheduledEvent prev;
+		private transient ScheduledEvent next;
+
 		public ScheduledEvent reschedule() {
 			this.endTime = (ofTicks ? scheduledEvents.currentTick : scheduledEvents.currentMillis) + timer;
+			scheduledEvents.add(this);
 			return this;
 		}
 
@@ -41,29 +48,31 @@ public class ScheduledEvents {
 
 		public void clear() {
 			this.callback = null;
+			scheduledEvents.remove(this);
 		}
 
-		private boolean tick() {
+		private void fire() {
 			if (callback == null) {
-				return true;
-			} else if ((ofTicks ? scheduledEvents.currentTick : scheduledEvents.currentMillis) >= endTime) {
-				try {
-					callback.onCallback(this);
-				} catch (RhinoException ex) {
-					ConsoleJS.SERVER.error("Error occurred while handling scheduled event callback: " + ex.getMessage());
-				} catch (Throwable ex) {
-					ex.printStackTrace();
-				}
+				scheduledEvents.byId.remove(id);
+				return;
+			}
 
-				if (repeating) {
+			try {
+				callback.onCallback(this);
+			} catch (RhinoException ex) {
+				ConsoleJS.SERVER.error("Error occurred while handling scheduled event callback: " + ex.getMessage());
+			} catch (Throwable ex) {
+				ex.printStackTrace();
+			}
+
+			// callback may have rescheduled or cleared this event already
+			if (slot == TimerWheel.NONE) {
+				if (repeating && callback != null) {
 					reschedule();
-					return false;
 				} else {
-					return true;
+					scheduledEvents.byId.remove(id);
 				}
 			}
-
-			return false;
 		}
 	}
 
@@ -100,20 +109,164 @@ public class ScheduledEvents {
 		}
 	}
 
+	/**
+	 * Hierarchical timing wheel with {@link #LEVELS} levels of {@link #SIZE} slots. Level 0 slots hold timers due at exactly that time unit,
+	 * higher level slots are cascaded down a level whenever the time below them wraps around.
+	 */
+	private static final class TimerWheel {
+		private static final int BITS = 6;
+		private static final int SIZE = 1 << BITS;
+		private static final int MASK = SIZE - 1;
+		private static final int LEVELS = 4;
+		private static final int OVERFLOW = LEVELS * SIZE;
+		private static final int EXPIRED = OVERFLOW + 1;
+		private static final int PENDING = OVERFLOW + 2;
+		private static final int NONE = -1;
+		private static final long RANGE = 1L << (BITS * LEVELS);
+		// larger jumps in time (world change, clock change, long lag spike) re-insert every timer instead of stepping through each unit
+		private static final long MAX_STEPS = SIZE * SIZE;
+
+		private final ScheduledEvent[] heads = new ScheduledEvent[PENDING + 1];
+		private final ScheduledEvent[] tails = new ScheduledEvent[PENDING + 1];
+		private long current = 0L;
+		private int size = 0;
+		private boolean stepping = false;
+
+		private void link(ScheduledEvent e, int slot) {
+			e.slot = slot;
+			e.next = null;
+			e.prev = tails[slot];
+
+			if (e.prev == null) {
+				heads[slot] = e;
+			} else {
+				e.prev.next = e;
+			}
+
+			tails[slot] = e;
+			size++;
+		}
+
+		private void unlink(ScheduledEvent e) {
+			int slot = e.slot;
+
+			if (e.prev == null) {
+				heads[slot] = e.next;
+			} else {
+				e.prev.next = e.next;
+			}
+
+			if (e.next == null) {
+				tails[slot] = e.prev;
+			} else {
+				e.next.prev = e.prev;
+			}
+
+			e.slot = NONE;
+			e.prev = null;
+			e.next = null;
+			size--;
+		}
+
+		private void insert(ScheduledEvent e) {
+			long deadline = e.endTime;
+
+			// while stepping, timers due right now are cascaded into the level 0 slot that is about to fire
+			if (deadline < current || deadline == current && !stepping) {
+				link(e, EXPIRED);
+			} else if (deadline - current >= RANGE) {
+				link(e, OVERFLOW);
+			} else {
+				// highest bit that differs from current time decides the level
+				int level = (63 - Long.numberOfLeadingZeros(deadline ^ current)) / BITS;
+
+				if (level >= LEVELS) {
+					link(e, OVERFLOW);
+				} else {
+					link(e, level * SIZE + (int) ((deadline >>> (level * BITS)) & MASK));
+				}
+			}
+		}
+
+		private void reinsert(int slot) {
+			ScheduledEvent e;
+
+			while ((e = heads[slot]) != null) {
+				unlink(e);
+				insert(e);
+			}
+		}
+
+		private void fire(int slot) {
+			ScheduledEvent e;
+
+			while ((e = heads[slot]) != null) {
+				unlink(e);
+				e.fire();
+			}
+		}
+
+		private void advance(long now) {
+			fire(EXPIRED);
+
+			if (now < current || now - current > MAX_STEPS) {
+				current = now;
+
+				for (int slot = 0; slot <= OVERFLOW; slot++) {
+					ScheduledEvent e;
+
+					while ((e = heads[slot]) != null) {
+						unlink(e);
+						link(e, PENDING);
+					}
+				}
+
+				reinsert(PENDING);
+				fire(EXPIRED);
+				return;
+			}
+
+			stepping = true;
+
+			while (current < now) {
+				current++;
+
+				if ((current & (RANGE - 1L)) == 0L) {
+					reinsert(OVERFLOW);
+				}
+
+				for (int level = LEVELS - 1; level > 0; level--) {
+					if ((current & ((1L << (level * BITS)) - 1L)) == 0L) {
+						reinsert(level * SIZE + (int) ((current >>> (level * BITS)) & MASK));
+					}
+				}
+
+				fire((int) (current & MASK));
+			}
+
+			stepping = false;
+		}
+	}
+
 	public final Supplier<ScheduledEvent> factory;
-	public final LinkedList<ScheduledEvent> events;
-	public final LinkedList<ScheduledEvent> futureEvents;
 	public final AtomicInteger nextId;
 	public long currentMillis;
 	public long currentTick;
 
+	private final TimerWheel tickTimers;
+	private final TimerWheel millisTimers;
+	private final Int2ObjectOpenHashMap<ScheduledEvent> byId;
+	private boolean ticking;
+
 	public ScheduledEvents(Supplier<ScheduledEvent> factory) {
 		this.factory = factory;
-		this.events = new LinkedList<>();
-		this.futureEvents = new LinkedList<>();
 		this.nextId = new AtomicInteger(0);
 		this.currentMillis = 0L;
 		this.currentTick = 0L;
+		this.tickTimers = new TimerWheel();
+		this.millisTimers = new TimerWheel();
+		this.byId = new Int2ObjectOpenHashMap<>();
+		this.ticking = false;
 	}
 
 	public ScheduledEvent schedule(TemporalAmount timer, boolean repeating, ScheduledEvents.Callback callback) {
@@ -127,7 +280,7 @@ public class ScheduledEvents {
 	}
 
 	public ScheduledEvent schedule(long timer, boolean ofTicks, boolean repeating, Callback callback) {
-		var e = new ScheduledEvent();
+		var e = factory.get();
 		e.scheduledEvents = this;
 		e.id = nextId.incrementAndGet();
 		e.ofTicks = ofTicks;
@@ -135,37 +288,76 @@ public class ScheduledEvents {
 		e.timer = timer;
 		e.callback = callback;
 		e.reschedule();
-		futureEvents.add(e);
 		return e;
 	}
 
+	private void add(ScheduledEvent e) {
+		var wheel = e.ofTicks ? tickTimers : millisTimers;
+		// fired events are forgotten, register again when they get rescheduled so they can still be cleared by id
+		byId.put(e.id, e);
+
+		if (e.slot != TimerWheel.NONE) {
+			wheel.unlink(e);
+		}
+
+		if (ticking) {
+			// timers added by callbacks never fire in the same tick
+			wheel.link(e, TimerWheel.PENDING);
+		} else {
+			wheel.insert(e);
+		}
+	}
+
+	private void remove(ScheduledEvent e) {
+		if (e.slot != TimerWheel.NONE) {
+			(e.ofTicks ? tickTimers : millisTimers).unlink(e);
+		}
+
+		byId.remove(e.id);
+	}
+
 	public void tickAll(long nowTicks) {
 		currentMillis = System.currentTimeMillis();
 		currentTick = nowTicks;
 
-		if (!futureEvents.isEmpty()) {
-			events.addAll(futureEvents);
-			futureEvents.clear();
+		if (tickTimers.size == 0 && millisTimers.size == 0) {
+			tickTimers.current = nowTicks;
+			millisTimers.current = currentMillis;
+			return;
 		}
 
-		if (!events.isEmpty()) {
-			events.removeIf(ScheduledEvent.TICK);
+		ticking = true;
+
+		try {
+			tickTimers.advance(nowTicks);
+			millisTimers.advance(currentMillis);
+		} finally {
+			ticking = false;
+			tickTimers.reinsert(TimerWheel.PENDING);
+			millisTimers.reinsert(TimerWheel.PENDING);
 		}
 	}
 
 	public void clear(int id) {
-		for (var event : events) {
-			if (event.id == id) {
-				event.callback = null;
-				break;
-			}
-		}
+		var e = byId.get(id);
 
-		for (var event : futureEvents) {
-			if (event.id == id) {
-				event.callback = null;
-				return;
-			}
+		if (e != null) {
+			e.clear();
 		}
 	}
+
+	/**
+	 * @return number of timers that are waiting to fire
+	 */
+	public int getPendingCount() {
+		return tickTimers.size + millisTimers.size;
+	}
+
+	public int getPendingTickCount() {
+		return tickTimers.size;
+	}
+
+	public int getPendingMillisCount() {
+		return millisTimers.size;
+	}
 }
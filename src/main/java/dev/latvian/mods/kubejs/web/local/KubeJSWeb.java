@@ -10,9 +10,14 @@ import dev.latvian.apps.tinyserver.ws.Frame;
 import dev.latvian.apps.tinyserver.ws.WSHandler;
 import dev.latvian.mods.kubejs.KubeJS;
 import dev.latvian.mods.kubejs.KubeJSPaths;
+import dev.latvian.mods.kubejs.event.EventBudget;
+import dev.latvian.mods.kubejs.event.EventHandlerContainer;
+import dev.latvian.mods.kubejs.event.EventProfiler;
 import dev.latvian.mods.kubejs.plugin.KubeJSPlugins;
 import dev.latvian.mods.kubejs.script.ScriptType;
+import dev.latvian.mods.kubejs.server.ScheduledServerEvent;
 import dev.latvian.mods.kubejs.util.RegExpKJS;
+import dev.latvian.mods.kubejs.util.RegistryAccessContainer;
 import dev.latvian.mods.kubejs.web.JsonContent;
 import dev.latvian.mods.kubejs.web.KJSHTTPRequest;
 import dev.latvian.mods.kubejs.web.KJSWSSession;
@@ -117,6 +122,10 @@ public class KubeJSWeb {
 		registry.get("/api/tags/{namespace}/{path}", KubeJSWeb::getTagsResponse); // List of all tags in registry
 		registry.get("/api/tags/{namespace}/{path}/values/{tag-namespace}/{tag-path}", KubeJSWeb::getTagValuesResponse); // List of all values in a tag
 		registry.get("/api/tags/{namespace}/{path}/keys/{value-namespace}/{value-path}", KubeJSWeb::getTagKeysResponse); // List of all tags for a value
+
+		registry.get("/api/profile/events", KubeJSWeb::getEventProfile); // Event handler timings, see /kubejs profile events
+		registry.get("/api/profile/scheduled-events", KubeJSWeb::getScheduledEventsProfile); // Number of pending server timers
+		registry.get("/api/profile/parse-caches", KubeJSWeb::getParseCacheProfile); // Hit/miss statistics of item, ingredient, fluid and block string parse caches
 	}
 
 	private static void reloadInternalServer() {
@@ -157,6 +166,30 @@ public class KubeJSWeb {
 		}));
 	}
 
+	private static HTTPResponse getEventProfile(KJSHTTPRequest req) {
+		return HTTPResponse.ok().content(JsonContent.object(json -> {
+			json.addProperty("running", EventHandlerContainer.profile);
+			json.add("budget", EventBudget.toJson());
+			json.add("handlers", EventProfiler.toJson());
+		}));
+	}
+
+	private static HTTPResponse getScheduledEventsProfile(KJSHTTPRequest req) {
+		return HTTPResponse.ok().content(JsonContent.object(json -> {
+			json.addProperty("pending", ScheduledServerEvent.EVENTS.getPendingCount());
+			json.addProperty("pending_ticks", ScheduledServerEvent.EVENTS.getPendingTickCount());
+			json.addProperty("pending_millis", ScheduledServerEvent.EVENTS.getPendingMillisCount());
+		}));
+	}
+
+	private static HTTPResponse getParseCacheProfile(KJSHTTPRequest req) {
+		return HTTPResponse.ok().content(JsonContent.array(json -> {
+			for (var cache : RegistryAccessContainer.current.parseCaches()) {
+				json.add(cache.toJson());
+			}
+		}));
+	}
+
 	private static HTTPResponse getMods(KJSHTTPRequest req) {
 		return HTTPResponse.ok().content(JsonContent.array(json -> {
 			for (var mod : ModList.get().getSortedMods()) {